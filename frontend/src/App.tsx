@@ -1,9 +1,20 @@
 import { useEffect, useMemo, useRef, useState } from 'react'
 import './App.css'
 
+type WordTiming = {
+  word: string
+  start: number
+  end: number
+  conf: number
+}
+
 type LiveEvent = {
   type: string
   payload: string
+  id?: number
+  words?: WordTiming[]
+  keep?: number
+  model?: string
 }
 
 type ConnectionState = 'connecting' | 'connected' | 'disconnected'
@@ -64,6 +75,7 @@ function App() {
   const [connectionState, setConnectionState] = useState<ConnectionState>('connecting')
   const [error, setError] = useState<string | null>(null)
   const [activeSummaryId, setActiveSummaryId] = useState<string | null>(null)
+  const [summaryModel, setSummaryModel] = useState('gemma3')
 
   const summaryTargetRef = useRef<string | null>(null)
   useEffect(() => {
@@ -78,12 +90,16 @@ function App() {
   useEffect(() => {
     let source: EventSource | null = null
     let retryTimer: number | undefined
+    let lastEventId: string | null = null
 
     const connect = () => {
+      retryTimer = undefined
       setConnectionState('connecting')
       setError(null)
 
-      source = new EventSource(streamUrl)
+      source = new EventSource(
+        lastEventId ? `${streamUrl}?lastEventId=${encodeURIComponent(lastEventId)}` : streamUrl,
+      )
 
       source.onopen = () => {
         setConnectionState('connected')
@@ -98,6 +114,9 @@ function App() {
       }
 
       source.onmessage = (event) => {
+        if (event.lastEventId) {
+          lastEventId = event.lastEventId
+        }
         try {
           const payload: LiveEvent = JSON.parse(event.data)
           handleLiveEvent(payload)
@@ -109,9 +128,11 @@ function App() {
 
     const handleLiveEvent = (evt: LiveEvent) => {
       switch (evt.type) {
-        case 'transcript-partial':
-          setPartialTranscript(evt.payload)
+        case 'transcript-partial': {
+          const keep = evt.keep ?? 0
+          setPartialTranscript((prev) => prev.slice(0, keep) + evt.payload)
           break
+        }
         case 'transcript-final': {
           setPartialTranscript('')
           const newEntry: TranscriptEntry = {
@@ -124,6 +145,9 @@ function App() {
           break
         }
         case 'summary-start':
+          if (evt.model) {
+            setSummaryModel(evt.model)
+          }
           setEntries((prev) =>
             prev.map((entry) =>
               entry.id === summaryTargetRef.current ? { ...entry, summary: '' } : entry,
@@ -210,7 +234,7 @@ function App() {
         <section className="panel summary">
           <div className="panel-head">
             <h2>Résumé Ollama</h2>
-            <span>🧠 gemma3</span>
+            <span>🧠 {summaryModel}</span>
           </div>
           <p className="summary-text">
             {highlightedSummary || 'Le résumé apparaîtra dès qu’une phrase sera validée.'}
@@ -0,0 +1,80 @@
+package com.efrei.abregefrr.live;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FanOutBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int subscribers;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final LiveEventPayload token = new LiveEventPayload("summary-token", " Dijkstra");
+    private LiveEventDispatcher dispatcher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dispatcher = new LiveEventDispatcher(256, SlowConsumerPolicy.DROP_PARTIALS_THEN_DISCONNECT, 512);
+        dispatcher.start();
+        for (int i = 0; i < subscribers; i++) {
+            dispatcher.subscribe(new CountingEmitter(delivered), new LiveEventPayload("status", "listening"), null);
+        }
+        awaitDelivered(subscribers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dispatcher.close();
+    }
+
+    // Publish one event and wait until every subscriber's sender thread has handed it to its emitter.
+    @Benchmark
+    public long publishToAll() {
+        long target = delivered.get() + subscribers;
+        dispatcher.publish(token);
+        return awaitDelivered(target);
+    }
+
+    private long awaitDelivered(long target) {
+        long current;
+        while ((current = delivered.get()) < target) {
+            Thread.onSpinWait();
+        }
+        return current;
+    }
+
+    private static final class CountingEmitter extends SseEmitter {
+
+        private final AtomicLong delivered;
+
+        private CountingEmitter(AtomicLong delivered) {
+            super(0L);
+            this.delivered = delivered;
+        }
+
+        @Override
+        public void send(Object object) {
+            delivered.incrementAndGet();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            delivered.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.efrei.abregefrr.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LiveEventPayloadBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final LiveEventPayload partial = LiveEventPayload
+            .partialDelta("donc aujourd'hui on va voir les algorithmes de plus court chemin", 52)
+            .withId(4242);
+
+    private final LiveEventPayload fullPartial = partial.withFullText();
+
+    private final LiveEventPayload finalWithWords = new LiveEventPayload("transcript-final",
+            "donc aujourd'hui on va voir dijkstra", 4243, List.of(
+            new WordTiming("donc", 0.12, 0.42, 1.0),
+            new WordTiming("aujourd'hui", 0.45, 1.05, 0.98),
+            new WordTiming("on", 1.05, 1.2, 1.0),
+            new WordTiming("va", 1.2, 1.38, 0.91),
+            new WordTiming("voir", 1.38, 1.62, 1.0),
+            new WordTiming("dijkstra", 1.65, 2.31, 0.87)), null, null, null);
+
+    private final LiveEventPayload summaryToken = new LiveEventPayload("summary-token", " Dijkstra", 4244);
+
+    @Benchmark
+    public byte[] partialDelta() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(partial);
+    }
+
+    @Benchmark
+    public byte[] partialFullText() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(fullPartial);
+    }
+
+    @Benchmark
+    public byte[] finalWithWords() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(finalWithWords);
+    }
+
+    @Benchmark
+    public byte[] summaryToken() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaryToken);
+    }
+}
@@ -0,0 +1,78 @@
+package com.efrei.abregefrr.live;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VoskResultParserBenchmark {
+
+    private static final String PARTIAL = """
+            {
+              "partial" : "donc aujourd'hui on va voir les algorithmes de plus court chemin dans un graphe pondéré"
+            }""";
+
+    private static final String FINAL = """
+            {
+              "result" : [{
+                  "conf" : 1.000000,
+                  "end" : 0.420000,
+                  "start" : 0.120000,
+                  "word" : "donc"
+                }, {
+                  "conf" : 0.983412,
+                  "end" : 1.050000,
+                  "start" : 0.450000,
+                  "word" : "aujourd'hui"
+                }, {
+                  "conf" : 1.000000,
+                  "end" : 1.200000,
+                  "start" : 1.050000,
+                  "word" : "on"
+                }, {
+                  "conf" : 0.912000,
+                  "end" : 1.380000,
+                  "start" : 1.200000,
+                  "word" : "va"
+                }, {
+                  "conf" : 1.000000,
+                  "end" : 1.620000,
+                  "start" : 1.380000,
+                  "word" : "voir"
+                }, {
+                  "conf" : 0.874310,
+                  "end" : 2.310000,
+                  "start" : 1.650000,
+                  "word" : "dijkstra"
+                }],
+              "text" : "donc aujourd'hui on va voir dijkstra"
+            }""";
+
+    private final VoskResultParser parser = new VoskResultParser();
+
+    @Benchmark
+    public String partial() {
+        return parser.partial(PARTIAL);
+    }
+
+    @Benchmark
+    public void finalWithWords(Blackhole blackhole) {
+        blackhole.consume(parser.text(FINAL));
+        blackhole.consume(parser.words(12.5));
+    }
+
+    // The indexOf/replaceAll extraction the parser replaced, kept as a baseline.
+    @Benchmark
+    public String legacyRegexPartial() {
+        int idx = PARTIAL.indexOf("\"partial\"");
+        return PARTIAL.substring(idx + 10).replaceAll("[\":{}]", "").trim();
+    }
+}
@@ -0,0 +1,46 @@
+package com.efrei.abregefrr.summary;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OllamaStreamBenchmark {
+
+    private static final String TOKEN_LINE = "{\"model\":\"gemma3:4b\",\"created_at\":\"2025-03-12T09:41:07.51Z\","
+            + "\"response\":\" Dijkstra\",\"done\":false}";
+
+    private static final String DONE_LINE;
+
+    static {
+        StringBuilder context = new StringBuilder();
+        for (int i = 0; i < 1024; i++) {
+            context.append(i == 0 ? "" : ",").append(105 + (i * 7919) % 250000);
+        }
+        DONE_LINE = "{\"model\":\"gemma3:4b\",\"created_at\":\"2025-03-12T09:41:08.02Z\",\"response\":\"\","
+                + "\"done\":true,\"done_reason\":\"stop\",\"context\":[" + context + "],"
+                + "\"total_duration\":1803295542,\"load_duration\":20918459,\"prompt_eval_count\":87,"
+                + "\"prompt_eval_duration\":1214000000,\"eval_count\":23,\"eval_duration\":561000000}";
+    }
+
+    private final OllamaClient client = new OllamaClient();
+
+    @Benchmark
+    public void tokenLine(Blackhole blackhole) throws IOException {
+        blackhole.consume(client.readLine(TOKEN_LINE, blackhole::consume));
+    }
+
+    @Benchmark
+    public OllamaGeneration finalLineWithContext(Blackhole blackhole) throws IOException {
+        return client.readLine(DONE_LINE, blackhole::consume);
+    }
+}
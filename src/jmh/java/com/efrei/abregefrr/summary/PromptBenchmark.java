@@ -0,0 +1,49 @@
+package com.efrei.abregefrr.summary;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PromptBenchmark {
+
+    private static final String SENTENCE = "Donc aujourd'hui on va voir l'algorithme de Dijkstra sur un graphe pondéré";
+
+    private final OllamaClient client = new OllamaClient();
+    private final SummaryContext context = new SummaryContext(384, 4);
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        set("ollamaPromptTemplate", "Résume très brièvement, en gardant les infos clés et sans définition : %s");
+        set("ollamaContextTemplate", "Contexte précédent (résumés), seulement pour comprendre la suite : %s");
+        context.append("Introduction aux graphes orientés et pondérés.");
+        context.append("Rappel : un chemin est une suite d'arêtes consécutives.");
+        context.append("Le parcours en largeur trouve les plus courts chemins sans poids.");
+    }
+
+    @Benchmark
+    public String normalizeForCacheKey() {
+        return TextNormalizer.normalize(SENTENCE);
+    }
+
+    @Benchmark
+    public String promptWithContext() {
+        return client.prompt(SENTENCE, context.render());
+    }
+
+    private void set(String field, String value) throws ReflectiveOperationException {
+        Field target = OllamaClient.class.getDeclaredField(field);
+        target.setAccessible(true);
+        target.set(client, value);
+    }
+}
@@ -0,0 +1,41 @@
+package com.efrei.abregefrr.loadtest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+final class LoadStats {
+
+    final LongAdder connected = new LongAdder();
+    final LongAdder failedConnections = new LongAdder();
+    final LongAdder disconnects = new LongAdder();
+    final LongAdder events = new LongAdder();
+    final LongAdder droppedEvents = new LongAdder();
+    final LongAdder sentences = new LongAdder();
+    final LongAdder summaries = new LongAdder();
+    final LatencyHistogram tokenLatency = new LatencyHistogram();
+
+    private double cpuTotal;
+    private double cpuMax;
+    private int cpuSamples;
+    private double heapMaxMb;
+
+    synchronized void sample(double cpu, double heapMb) {
+        if (cpu >= 0) {
+            cpuTotal += cpu;
+            cpuMax = Math.max(cpuMax, cpu);
+            cpuSamples++;
+        }
+        heapMaxMb = Math.max(heapMaxMb, heapMb);
+    }
+
+    synchronized double cpuAverage() {
+        return cpuSamples == 0 ? 0.0 : cpuTotal / cpuSamples;
+    }
+
+    synchronized double cpuMax() {
+        return cpuMax;
+    }
+
+    synchronized double heapMaxMb() {
+        return heapMaxMb;
+    }
+}
@@ -0,0 +1,187 @@
+package com.efrei.abregefrr.loadtest;
+
+import com.efrei.abregefrr.AbregeFrrApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Offline end-to-end load test: boots the app on a replayed audio source against a stub Ollama,
+// opens many SSE viewers and reports delivery latency, drops and server CPU/heap.
+//
+//   ./gradlew loadTest -PloadTestArgs="--clients=2000 --audio=cours.wav --duration-seconds=120"
+public final class LoadTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int clients = Integer.parseInt(options.getOrDefault("clients", "1000"));
+        long durationSeconds = Long.parseLong(options.getOrDefault("duration-seconds", "60"));
+        int rampPerSecond = Integer.parseInt(options.getOrDefault("ramp-per-second", "500"));
+        String target = options.get("target");
+        Path report = Path.of(options.getOrDefault("report", "build/reports/loadtest/results.json"));
+
+        try (StubOllamaServer ollama = new StubOllamaServer(
+                Long.parseLong(options.getOrDefault("ollama-latency-ms", "150")),
+                Double.parseDouble(options.getOrDefault("ollama-token-rate", "40")),
+                Integer.parseInt(options.getOrDefault("ollama-tokens", "24")))) {
+            ollama.start();
+            System.out.println("Ollama simulé sur " + ollama.url());
+
+            ConfigurableApplicationContext app = target == null ? startApp(options, ollama.url(), clients) : null;
+            String base = app != null
+                    ? "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port")
+                    : target.replaceAll("/$", "");
+            try {
+                LoadTestResult result = run(base, clients, rampPerSecond, durationSeconds, ollama, app != null);
+                print(result);
+                Files.createDirectories(report.toAbsolutePath().getParent());
+                OBJECT_MAPPER.writeValue(report.toFile(), result);
+                System.out.println("Résultats écrits dans " + report);
+            } finally {
+                if (app != null) {
+                    app.close();
+                }
+            }
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startApp(Map<String, String> options, String ollamaUrl, int clients) {
+        String audio = options.get("audio");
+        List<String> properties = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--server.tomcat.max-connections=" + (clients + 256),
+                "--ollama.url=" + ollamaUrl,
+                "--live.autostart=false",
+                "--live.source.speed=" + options.getOrDefault("speed", "1.0"),
+                // Cached or speculative tokens would be replayed long after the stub stamped them.
+                "--summary.cache.size=0",
+                "--summary.speculation.enabled=false"));
+        if (audio != null) {
+            properties.add("--live.source.type=" + (audio.endsWith(".wav") ? "wav" : "pcm"));
+            properties.add("--live.source.path=" + audio);
+        } else {
+            System.out.println("Pas de --audio : tonalité synthétique, la transcription ne produira pas de phrases");
+            properties.add("--live.source.type=tone");
+        }
+        return SpringApplication.run(AbregeFrrApplication.class, properties.toArray(String[]::new));
+    }
+
+    private static LoadTestResult run(String base,
+                                      int clients,
+                                      int rampPerSecond,
+                                      long durationSeconds,
+                                      StubOllamaServer ollama,
+                                      boolean inProcess) throws InterruptedException {
+        LoadStats stats = new LoadStats();
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        URI stream = URI.create(base + "/api/live/stream");
+        List<SseLoadClient> running = new ArrayList<>(clients);
+        ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+        Thread sampler = Thread.ofVirtual().name("loadtest-sampler").start(() -> sample(http, base, stats));
+
+        long pauseNanos = rampPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / rampPerSecond : 0;
+        for (int i = 0; i < clients; i++) {
+            SseLoadClient client = new SseLoadClient(http, stream, i == 0, stats);
+            running.add(client);
+            threads.execute(client);
+            TimeUnit.NANOSECONDS.sleep(pauseNanos);
+        }
+        System.out.println(stats.connected.sum() + "/" + clients + " clients connectés, mesure pendant "
+                + durationSeconds + " s");
+        TimeUnit.SECONDS.sleep(durationSeconds);
+
+        running.forEach(SseLoadClient::stop);
+        sampler.interrupt();
+        threads.shutdownNow();
+
+        LatencyHistogram latency = stats.tokenLatency;
+        long sentences = stats.sentences.sum();
+        return new LoadTestResult(clients, stats.connected.sum(), stats.failedConnections.sum(),
+                stats.disconnects.sum(), durationSeconds, stats.events.sum(), stats.droppedEvents.sum(), sentences,
+                (double) sentences / durationSeconds, stats.summaries.sum(), ollama.requests(), latency.count(),
+                latency.percentile(50) / 1000.0, latency.percentile(99) / 1000.0, latency.percentile(99.9) / 1000.0,
+                latency.max() / 1000.0, stats.cpuAverage(), stats.cpuMax(), stats.heapMaxMb(), inProcess);
+    }
+
+    // Polled through Actuator so an external --target is measured the same way as the embedded app.
+    private static void sample(HttpClient http, String base, LoadStats stats) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                double cpu = metric(http, base + "/actuator/metrics/process.cpu.usage");
+                double heap = metric(http, base + "/actuator/metrics/jvm.memory.used?tag=area:heap");
+                stats.sample(cpu, heap / (1024 * 1024));
+                TimeUnit.SECONDS.sleep(1);
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                System.out.println("Métriques serveur indisponibles : " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private static double metric(HttpClient http, String url) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException(url + " a répondu " + response.statusCode());
+        }
+        JsonNode measurements = OBJECT_MAPPER.readTree(response.body()).path("measurements");
+        return measurements.isEmpty() ? -1 : measurements.get(0).path("value").asDouble();
+    }
+
+    private static void print(LoadTestResult result) {
+        System.out.printf("""
+                        Clients          : %d connectés / %d (%d échecs, %d déconnexions)
+                        Events reçus     : %d (%d perdus)
+                        Phrases          : %d (%.2f/s), résumés : %d, requêtes Ollama : %d
+                        Jeton → client   : p50 %.1f ms, p99 %.1f ms, p999 %.1f ms, max %.1f ms (%d mesures)
+                        CPU %s       : moyenne %.0f %%, max %.0f %%
+                        Heap max         : %.0f Mo
+                        """,
+                result.connected(), result.clients(), result.failedConnections(), result.disconnects(),
+                result.events(), result.droppedEvents(), result.sentences(), result.sentencesPerSecond(),
+                result.summaries(), result.ollamaRequests(), result.tokenP50Ms(), result.tokenP99Ms(),
+                result.tokenP999Ms(), result.tokenMaxMs(), result.tokensMeasured(),
+                result.inProcess() ? "(processus)" : "(serveur)  ", result.cpuAverage() * 100,
+                result.cpuMax() * 100, result.heapMaxMb());
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Option attendue sous la forme --nom=valeur : " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,23 @@
+package com.efrei.abregefrr.loadtest;
+
+record LoadTestResult(int clients,
+                      long connected,
+                      long failedConnections,
+                      long disconnects,
+                      long durationSeconds,
+                      long events,
+                      long droppedEvents,
+                      long sentences,
+                      double sentencesPerSecond,
+                      long summaries,
+                      long ollamaRequests,
+                      long tokensMeasured,
+                      double tokenP50Ms,
+                      double tokenP99Ms,
+                      double tokenP999Ms,
+                      double tokenMaxMs,
+                      double cpuAverage,
+                      double cpuMax,
+                      double heapMaxMb,
+                      boolean inProcess) {
+}
@@ -0,0 +1,115 @@
+package com.efrei.abregefrr.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+final class SseLoadClient implements Runnable {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpClient http;
+    private final URI stream;
+    private final boolean observer;
+    private final LoadStats stats;
+    private volatile boolean stopping;
+    private volatile Stream<String> lines;
+    private long lastId;
+
+    SseLoadClient(HttpClient http, URI stream, boolean observer, LoadStats stats) {
+        this.http = http;
+        this.stream = stream;
+        this.observer = observer;
+        this.stats = stats;
+    }
+
+    @Override
+    public void run() {
+        HttpRequest request = HttpRequest.newBuilder(stream).header("Accept", "text/event-stream").GET().build();
+        try {
+            HttpResponse<Stream<String>> response = http.send(request, HttpResponse.BodyHandlers.ofLines());
+            if (response.statusCode() != 200) {
+                stats.failedConnections.increment();
+                response.body().close();
+                return;
+            }
+            stats.connected.increment();
+            lines = response.body();
+            Iterator<String> iterator = lines.iterator();
+            while (!stopping && iterator.hasNext()) {
+                onLine(iterator.next());
+            }
+            if (!stopping) {
+                stats.disconnects.increment();
+            }
+        } catch (IOException | RuntimeException e) {
+            if (!stopping) {
+                if (lastId == 0) {
+                    stats.failedConnections.increment();
+                } else {
+                    stats.disconnects.increment();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void stop() {
+        stopping = true;
+        Stream<String> current = lines;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private void onLine(String line) throws IOException {
+        if (line.startsWith("id:")) {
+            long id = Long.parseLong(line.substring(3).trim());
+            if (lastId > 0 && id > lastId + 1) {
+                stats.droppedEvents.add(id - lastId - 1);
+            }
+            lastId = Math.max(lastId, id);
+            return;
+        }
+        if (!line.startsWith("data:")) {
+            return;
+        }
+        long receivedNanos = System.nanoTime();
+        stats.events.increment();
+        JsonNode event = OBJECT_MAPPER.readTree(line.substring(5));
+        String type = event.path("type").asText();
+        String payload = event.path("payload").asText();
+        switch (type) {
+            case "summary-token" -> {
+                String token = payload.trim();
+                if (token.startsWith("t")) {
+                    try {
+                        long emittedNanos = Long.parseLong(token.substring(1));
+                        stats.tokenLatency.record((receivedNanos - emittedNanos) / 1_000);
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+            case "transcript-final" -> {
+                if (observer) {
+                    stats.sentences.increment();
+                }
+            }
+            case "summary-end" -> {
+                if (observer) {
+                    stats.summaries.increment();
+                }
+            }
+            default -> {
+            }
+        }
+    }
+}
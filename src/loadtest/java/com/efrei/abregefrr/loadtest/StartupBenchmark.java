@@ -0,0 +1,180 @@
+package com.efrei.abregefrr.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Startup benchmark over fresh JVMs: time until the HTTP server answers (liveness) and until the node is
+// listening (readiness), for the plain boot jar and for the fast-start layout (AOT + CDS archive).
+//
+//   ./gradlew startupBenchmark -PstartupArgs="--runs=5 --max-http-ready-ms=1000"
+public final class StartupBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final long POLL_MS = 10;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        long timeoutMs = TimeUnit.SECONDS.toMillis(Long.parseLong(options.getOrDefault("timeout-seconds", "120")));
+        Path jar = Path.of(options.getOrDefault("jar", "build/libs/AbregeFrr-0.0.1-SNAPSHOT.jar"));
+        Path fastStartDir = Path.of(options.getOrDefault("fast-start-dir", "build/fast-start"));
+        Path report = Path.of(options.getOrDefault("report", "build/reports/startup/results.json"));
+        long maxHttpReadyMs = Long.parseLong(options.getOrDefault("max-http-ready-ms", "0"));
+        long maxListeningMs = Long.parseLong(options.getOrDefault("max-listening-ms", "0"));
+        // Listening needs no microphone: a synthetic tone goes through the same capture path.
+        // Each variant runs from its own directory: the model path must not depend on it.
+        Path model = Path.of(options.getOrDefault("model", "src/main/resources/model/vosk-model")).toAbsolutePath();
+        List<String> appArgs = List.of("--live.source.type=" + options.getOrDefault("source", "tone"),
+                "--vosk.model-path=" + model, "--transcript.enabled=false", "--search.enabled=false");
+        Files.createDirectories(report.toAbsolutePath().getParent());
+
+        List<StartupResult> results = new ArrayList<>();
+        results.add(measure("standard", jar.toAbsolutePath().getParent(), List.of(), jar.getFileName().toString(),
+                appArgs, runs, timeoutMs, report.toAbsolutePath().getParent()));
+        Path archive = fastStartDir.resolve("application.jsa");
+        if (Files.exists(archive)) {
+            List<String> jvmArgs = List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true");
+            List<String> fastArgs = new ArrayList<>(appArgs);
+            fastArgs.add("--spring.profiles.active=fast-start");
+            results.add(measure("fast-start", fastStartDir.toAbsolutePath(), jvmArgs, jar.getFileName().toString(),
+                    fastArgs, runs, timeoutMs, report.toAbsolutePath().getParent()));
+        } else {
+            System.out.println("Pas d'archive CDS dans " + fastStartDir + " (./gradlew cdsArchive) : variante rapide ignorée");
+        }
+
+        results.forEach(StartupBenchmark::print);
+        OBJECT_MAPPER.writeValue(report.toFile(), results);
+        System.out.println("Résultats écrits dans " + report);
+
+        // Budgets apply to the fastest configuration measured: that is what gets deployed.
+        StartupResult gated = results.getLast();
+        boolean regressed = false;
+        if (maxHttpReadyMs > 0 && gated.httpReadyMedianMs() > maxHttpReadyMs) {
+            System.out.println("Régression : HTTP prêt en " + gated.httpReadyMedianMs() + " ms > " + maxHttpReadyMs + " ms");
+            regressed = true;
+        }
+        if (maxListeningMs > 0 && gated.listeningMedianMs() > maxListeningMs) {
+            System.out.println("Régression : écoute en " + gated.listeningMedianMs() + " ms > " + maxListeningMs + " ms");
+            regressed = true;
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+
+    private static StartupResult measure(String variant,
+                                         Path workingDir,
+                                         List<String> jvmArgs,
+                                         String jar,
+                                         List<String> appArgs,
+                                         int runs,
+                                         long timeoutMs,
+                                         Path logDir) throws IOException, InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(500))
+                .build();
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<Long> httpReady = new ArrayList<>();
+        List<Long> listening = new ArrayList<>();
+        for (int run = 1; run <= runs; run++) {
+            int port = freePort();
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.addAll(jvmArgs);
+            command.add("-jar");
+            command.add(jar);
+            command.add("--server.port=" + port);
+            command.addAll(appArgs);
+            Path log = logDir.resolve(variant + "-" + run + ".log");
+            long started = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .directory(workingDir.toFile())
+                    .redirectErrorStream(true)
+                    .redirectOutput(log.toFile())
+                    .start();
+            try {
+                String base = "http://127.0.0.1:" + port + "/actuator/health/";
+                httpReady.add(awaitOk(http, base + "liveness", process, started, timeoutMs, log));
+                listening.add(awaitOk(http, base + "readiness", process, started, timeoutMs, log));
+                System.out.printf("%s #%d : HTTP prêt %d ms, écoute %d ms%n", variant, run, httpReady.getLast(),
+                        listening.getLast());
+            } finally {
+                process.destroy();
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+        return new StartupResult(variant, httpReady, listening, median(httpReady), median(listening));
+    }
+
+    private static long awaitOk(HttpClient http, String url, Process process, long started, long timeoutMs, Path log)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(1)).build();
+        while (true) {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            if (!process.isAlive()) {
+                throw new IOException("L'application s'est arrêtée au démarrage, voir " + log);
+            }
+            if (elapsedMs > timeoutMs) {
+                throw new IOException(url + " toujours indisponible après " + timeoutMs + " ms, voir " + log);
+            }
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                }
+            } catch (IOException e) {
+                // Not accepting connections yet.
+            }
+            TimeUnit.MILLISECONDS.sleep(POLL_MS);
+        }
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = values.stream().sorted().toList();
+        return sorted.isEmpty() ? 0 : sorted.get(sorted.size() / 2);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void print(StartupResult result) {
+        System.out.printf("""
+                        %-10s : HTTP prêt médiane %d ms %s, écoute médiane %d ms %s
+                        """,
+                result.variant(), result.httpReadyMedianMs(), result.httpReadyMs(), result.listeningMedianMs(),
+                result.listeningMs());
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Option attendue sous la forme --nom=valeur : " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,10 @@
+package com.efrei.abregefrr.loadtest;
+
+import java.util.List;
+
+record StartupResult(String variant,
+                     List<Long> httpReadyMs,
+                     List<Long> listeningMs,
+                     long httpReadyMedianMs,
+                     long listeningMedianMs) {
+}
@@ -0,0 +1,74 @@
+package com.efrei.abregefrr.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Emulates Ollama's streaming /api/generate. Each token carries its emission time (" t<nanoTime>")
+// so clients in the same JVM can measure token → SSE delivery latency.
+final class StubOllamaServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final long firstTokenNanos;
+    private final long tokenIntervalNanos;
+    private final int tokens;
+    private final AtomicLong requests = new AtomicLong();
+
+    StubOllamaServer(long latencyMs, double tokensPerSecond, int tokens) throws IOException {
+        this.firstTokenNanos = TimeUnit.MILLISECONDS.toNanos(latencyMs);
+        this.tokenIntervalNanos = tokensPerSecond > 0 ? (long) (1e9 / tokensPerSecond) : 0;
+        this.tokens = tokens;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/api/generate", this::generate);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/generate";
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void generate(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(200, 0);
+        long started = System.nanoTime();
+        try (OutputStream out = exchange.getResponseBody()) {
+            LockSupport.parkNanos(firstTokenNanos);
+            for (int i = 0; i < tokens; i++) {
+                write(out, "{\"response\":\" t" + System.nanoTime() + "\",\"done\":false}\n");
+                LockSupport.parkNanos(tokenIntervalNanos);
+            }
+            long generation = System.nanoTime() - started - firstTokenNanos;
+            write(out, "{\"response\":\"\",\"done\":true,\"context\":[1,2,3],\"prompt_eval_count\":64,"
+                    + "\"prompt_eval_duration\":" + firstTokenNanos + ",\"eval_count\":" + tokens
+                    + ",\"eval_duration\":" + Math.max(0, generation) + "}\n");
+        }
+    }
+
+    private static void write(OutputStream out, String line) throws IOException {
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
@@ -0,0 +1,93 @@
+package com.efrei.abregefrr.audio;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+public final class AudioCapture {
+
+    private final AudioSource source;
+    private final AudioFrameRing ring;
+    private final Runnable onFrame;
+    private final byte[] overrunScratch;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    private volatile boolean finished;
+    private volatile long capturedBytes;
+    private volatile RuntimeException failure;
+
+    public AudioCapture(AudioSource source, AudioFrameRing ring, Runnable onFrame) {
+        this.source = source;
+        this.ring = ring;
+        this.onFrame = onFrame;
+        this.overrunScratch = new byte[ring.frameSize()];
+        this.thread = new Thread(this::captureLoop, "live-capture");
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MAX_PRIORITY);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    public void stop() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(1_000);
+    }
+
+    public void rethrowFailure() {
+        RuntimeException e = failure;
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    // True once a finite source (file, pipe, synthetic signal) has been read to the end.
+    public boolean finished() {
+        return finished;
+    }
+
+    public long capturedBytes() {
+        return capturedBytes;
+    }
+
+    private void captureLoop() {
+        boolean realTime = source.realTime();
+        try {
+            while (running) {
+                // Real-time sources drop frames the pipeline can't absorb; the others wait for room.
+                byte[] frame = realTime ? ring.claim() : ring.awaitClaim(100, TimeUnit.MILLISECONDS);
+                boolean overrun = frame == null;
+                if (overrun) {
+                    if (!realTime) {
+                        continue;
+                    }
+                    frame = overrunScratch;
+                }
+                int bytesRead = source.read(frame, 0, frame.length);
+                if (bytesRead < 0) {
+                    finished = true;
+                    return;
+                }
+                int aligned = bytesRead & ~1;
+                if (aligned > 0 && !overrun) {
+                    ring.publish(aligned);
+                    capturedBytes += aligned;
+                    onFrame.run();
+                }
+            }
+        } catch (IOException e) {
+            if (running) {
+                failure = new UncheckedIOException(e);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            if (running) {
+                failure = e;
+            }
+        }
+    }
+}
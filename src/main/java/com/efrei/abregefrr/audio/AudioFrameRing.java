@@ -0,0 +1,130 @@
+package com.efrei.abregefrr.audio;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public final class AudioFrameRing {
+
+    private final byte[][] frames;
+    private final int[] lengths;
+    private final int mask;
+    private final int frameSize;
+
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong overruns = new AtomicLong();
+    private final AtomicLong underruns = new AtomicLong();
+    private volatile int highWater;
+    private volatile Thread producer;
+
+    public AudioFrameRing(int capacity, int frameSize) {
+        if (capacity < 1 || frameSize < 1) {
+            throw new IllegalArgumentException("capacity and frameSize must be >= 1");
+        }
+        int slots = Integer.highestOneBit(capacity);
+        if (slots < capacity) {
+            slots <<= 1;
+        }
+        this.frames = new byte[slots][frameSize];
+        this.lengths = new int[slots];
+        this.mask = slots - 1;
+        this.frameSize = frameSize;
+    }
+
+    public byte[] claim() {
+        byte[] frame = freeFrame();
+        if (frame == null) {
+            overruns.incrementAndGet();
+        }
+        return frame;
+    }
+
+    public byte[] awaitClaim(long timeout, TimeUnit unit) throws InterruptedException {
+        byte[] frame = freeFrame();
+        if (frame != null) {
+            return frame;
+        }
+        producer = Thread.currentThread();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            while ((frame = freeFrame()) == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return frame;
+        } finally {
+            producer = null;
+        }
+    }
+
+    public void publish(int length) {
+        long t = tail.get();
+        lengths[(int) (t & mask)] = length;
+        tail.lazySet(t + 1);
+        int occupancy = (int) (t + 1 - head.get());
+        if (occupancy > highWater) {
+            highWater = occupancy;
+        }
+    }
+
+    public int poll() {
+        long h = head.get();
+        if (h < tail.get()) {
+            return (int) (h & mask);
+        }
+        return -1;
+    }
+
+    // Only the consumer knows whether an empty ring is a starvation or just the end of a catch-up.
+    public void recordUnderrun() {
+        underruns.incrementAndGet();
+    }
+
+    public boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+
+    public byte[] frame(int slot) {
+        return frames[slot];
+    }
+
+    public int length(int slot) {
+        return lengths[slot];
+    }
+
+    public void release() {
+        head.lazySet(head.get() + 1);
+        Thread waiting = producer;
+        if (waiting != null) {
+            LockSupport.unpark(waiting);
+        }
+    }
+
+    public void clear() {
+        head.set(tail.get());
+    }
+
+    public int frameSize() {
+        return frameSize;
+    }
+
+    private byte[] freeFrame() {
+        long t = tail.get();
+        if (t - head.get() == frames.length) {
+            return null;
+        }
+        return frames[(int) (t & mask)];
+    }
+
+    public AudioRingStats stats() {
+        return new AudioRingStats(frames.length, frameSize, (int) (tail.get() - head.get()), highWater,
+                overruns.get(), underruns.get());
+    }
+}
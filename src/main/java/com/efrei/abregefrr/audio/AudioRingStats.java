@@ -0,0 +1,4 @@
+package com.efrei.abregefrr.audio;
+
+public record AudioRingStats(int capacity, int frameSize, int occupancy, int highWater, long overruns, long underruns) {
+}
@@ -0,0 +1,19 @@
+package com.efrei.abregefrr.audio;
+
+import java.io.IOException;
+
+public interface AudioSource extends AutoCloseable {
+
+    void open() throws IOException;
+
+    // Fills the buffer with 16-bit little-endian mono PCM; returns -1 once the source is exhausted.
+    int read(byte[] buffer, int offset, int length) throws IOException;
+
+    // Real-time sources keep producing whether or not the pipeline keeps up, so overruns drop frames.
+    boolean realTime();
+
+    String description();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,9 @@
+package com.efrei.abregefrr.audio;
+
+public enum AudioSourceType {
+    MICROPHONE,
+    WAV,
+    PCM,
+    TONE,
+    NOISE
+}
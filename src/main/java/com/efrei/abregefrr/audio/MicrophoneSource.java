@@ -0,0 +1,64 @@
+package com.efrei.abregefrr.audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.DataLine;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.TargetDataLine;
+import java.io.IOException;
+
+public final class MicrophoneSource implements AudioSource {
+
+    private final AudioFormat format;
+    private TargetDataLine line;
+
+    public MicrophoneSource(int sampleRate) {
+        this.format = new AudioFormat(sampleRate, 16, 1, true, false);
+    }
+
+    @Override
+    public void open() throws IOException {
+        DataLine.Info info = new DataLine.Info(TargetDataLine.class, format);
+        if (!AudioSystem.isLineSupported(info)) {
+            throw new IOException("Micro non supporté par le format " + info);
+        }
+        try {
+            line = (TargetDataLine) AudioSystem.getLine(info);
+            line.open(format);
+            line.start();
+        } catch (LineUnavailableException e) {
+            close();
+            throw new IOException("Micro indisponible : " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        int read = line.read(buffer, offset, length);
+        if (read <= 0 && !line.isOpen()) {
+            throw new IllegalStateException("Ligne audio fermée");
+        }
+        return read;
+    }
+
+    @Override
+    public boolean realTime() {
+        return true;
+    }
+
+    @Override
+    public String description() {
+        return "micro";
+    }
+
+    @Override
+    public void close() {
+        if (line != null) {
+            try {
+                line.stop();
+                line.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+}
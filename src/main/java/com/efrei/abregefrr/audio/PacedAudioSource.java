@@ -0,0 +1,67 @@
+package com.efrei.abregefrr.audio;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.locks.LockSupport;
+
+public final class PacedAudioSource implements AudioSource {
+
+    private final AudioSource delegate;
+    private final double bytesPerNano;
+    private final double speed;
+    private long startedNanos;
+    private long bytes;
+
+    // Replays a non real-time source at speed × the stream clock, like a microphone would deliver it.
+    public PacedAudioSource(AudioSource delegate, int sampleRate, double speed) {
+        if (speed <= 0) {
+            throw new IllegalArgumentException("speed must be > 0");
+        }
+        this.delegate = delegate;
+        this.speed = speed;
+        this.bytesPerNano = sampleRate * 2 * speed / 1e9;
+    }
+
+    @Override
+    public void open() throws IOException {
+        delegate.open();
+        startedNanos = 0;
+        bytes = 0;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (startedNanos == 0) {
+            startedNanos = System.nanoTime();
+        }
+        int read = delegate.read(buffer, offset, length);
+        if (read <= 0) {
+            return read;
+        }
+        bytes += read;
+        long due = startedNanos + (long) (bytes / bytesPerNano);
+        long wait;
+        while ((wait = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, wait);
+            if (Thread.interrupted()) {
+                throw new InterruptedIOException("Lecture audio interrompue");
+            }
+        }
+        return read;
+    }
+
+    @Override
+    public boolean realTime() {
+        return true;
+    }
+
+    @Override
+    public String description() {
+        return delegate.description() + " ×" + speed;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
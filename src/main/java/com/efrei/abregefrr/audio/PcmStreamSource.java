@@ -0,0 +1,76 @@
+package com.efrei.abregefrr.audio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public final class PcmStreamSource implements AudioSource {
+
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+
+    private final String description;
+    private final StreamOpener opener;
+    private InputStream stream;
+    private Socket socket;
+
+    private PcmStreamSource(String description, StreamOpener opener) {
+        this.description = description;
+        this.opener = opener;
+    }
+
+    // A regular file or a named pipe (mkfifo); "-" reads the process standard input.
+    public static PcmStreamSource file(Path path) {
+        if (path.toString().equals("-")) {
+            return new PcmStreamSource("pcm:stdin", source -> System.in);
+        }
+        return new PcmStreamSource("pcm:" + path, source -> Files.newInputStream(path));
+    }
+
+    public static PcmStreamSource socket(String host, int port) {
+        return new PcmStreamSource("pcm:tcp://" + host + ":" + port, source -> {
+            source.socket = new Socket();
+            source.socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+            return source.socket.getInputStream();
+        });
+    }
+
+    @Override
+    public void open() throws IOException {
+        stream = opener.open(this);
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = stream.readNBytes(buffer, offset, length);
+        return read == 0 ? -1 : read;
+    }
+
+    @Override
+    public boolean realTime() {
+        return false;
+    }
+
+    @Override
+    public String description() {
+        return description;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (socket != null) {
+                socket.close();
+            } else if (stream != null && stream != System.in) {
+                stream.close();
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    private interface StreamOpener {
+        InputStream open(PcmStreamSource source) throws IOException;
+    }
+}
@@ -0,0 +1,70 @@
+package com.efrei.abregefrr.audio;
+
+import java.util.SplittableRandom;
+
+public final class SyntheticSource implements AudioSource {
+
+    private final boolean noise;
+    private final int sampleRate;
+    private final double frequency;
+    private final double amplitude;
+    private final long totalSamples;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private long position;
+
+    // durationSeconds <= 0 produces samples forever.
+    public SyntheticSource(boolean noise, int sampleRate, double frequency, double amplitude, double durationSeconds) {
+        this.noise = noise;
+        this.sampleRate = sampleRate;
+        this.frequency = frequency;
+        this.amplitude = Math.min(amplitude, Short.MAX_VALUE);
+        this.totalSamples = durationSeconds > 0 ? Math.round(durationSeconds * sampleRate) : Long.MAX_VALUE;
+    }
+
+    public static SyntheticSource tone(int sampleRate, double frequency, double amplitude, double durationSeconds) {
+        return new SyntheticSource(false, sampleRate, frequency, amplitude, durationSeconds);
+    }
+
+    public static SyntheticSource noise(int sampleRate, double amplitude, double durationSeconds) {
+        return new SyntheticSource(true, sampleRate, 0, amplitude, durationSeconds);
+    }
+
+    @Override
+    public void open() {
+        position = 0;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        long remaining = totalSamples - position;
+        if (remaining <= 0) {
+            return -1;
+        }
+        int samples = (int) Math.min(length / 2, remaining);
+        double step = 2 * Math.PI * frequency / sampleRate;
+        for (int i = 0; i < samples; i++) {
+            double value = noise
+                    ? amplitude * (2 * random.nextDouble() - 1)
+                    : amplitude * Math.sin(step * (position + i));
+            short sample = (short) value;
+            buffer[offset + 2 * i] = (byte) sample;
+            buffer[offset + 2 * i + 1] = (byte) (sample >> 8);
+        }
+        position += samples;
+        return samples * 2;
+    }
+
+    @Override
+    public boolean realTime() {
+        return false;
+    }
+
+    @Override
+    public String description() {
+        return noise ? "bruit" : "tonalité " + frequency + " Hz";
+    }
+
+    @Override
+    public void close() {
+    }
+}
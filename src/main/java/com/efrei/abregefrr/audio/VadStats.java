@@ -0,0 +1,4 @@
+package com.efrei.abregefrr.audio;
+
+public record VadStats(boolean enabled, double skippedPercent, long speechSegments) {
+}
@@ -0,0 +1,102 @@
+package com.efrei.abregefrr.audio;
+
+public final class VoiceActivityDetector {
+
+    public enum Decision {
+        SILENCE,
+        SPEECH_START,
+        SPEECH,
+        SPEECH_END
+    }
+
+    private final double energyThreshold;
+    private final double maxZeroCrossingRate;
+    private final long hangoverSamples;
+
+    private final byte[] preroll;
+    private int prerollLength;
+
+    private boolean inSpeech;
+    private long hangoverRemaining;
+    private volatile long totalSamples;
+    private volatile long skippedSamples;
+    private volatile long speechSegments;
+
+    public VoiceActivityDetector(int sampleRate, int frameSize, double energyThreshold,
+                                 double maxZeroCrossingRate, long hangoverMs) {
+        this.energyThreshold = energyThreshold;
+        this.maxZeroCrossingRate = maxZeroCrossingRate;
+        this.hangoverSamples = sampleRate * hangoverMs / 1000;
+        this.preroll = new byte[frameSize];
+    }
+
+    public Decision process(byte[] pcm, int length) {
+        int samples = length / 2;
+        if (samples == 0) {
+            return inSpeech ? Decision.SPEECH : Decision.SILENCE;
+        }
+        long sumSquares = 0;
+        int crossings = 0;
+        int previous = 0;
+        for (int i = 0; i < samples; i++) {
+            int sample = (short) ((pcm[2 * i] & 0xff) | (pcm[2 * i + 1] << 8));
+            sumSquares += (long) sample * sample;
+            if (i > 0 && (sample ^ previous) < 0) {
+                crossings++;
+            }
+            previous = sample;
+        }
+        double rms = Math.sqrt((double) sumSquares / samples);
+        double zeroCrossingRate = (double) crossings / samples;
+        boolean voiced = rms >= energyThreshold && zeroCrossingRate <= maxZeroCrossingRate;
+
+        totalSamples += samples;
+        if (voiced) {
+            hangoverRemaining = hangoverSamples;
+            if (!inSpeech) {
+                inSpeech = true;
+                speechSegments++;
+                return Decision.SPEECH_START;
+            }
+            return Decision.SPEECH;
+        }
+        if (inSpeech) {
+            hangoverRemaining -= samples;
+            if (hangoverRemaining > 0) {
+                return Decision.SPEECH;
+            }
+            inSpeech = false;
+            skip(pcm, length, samples);
+            return Decision.SPEECH_END;
+        }
+        skip(pcm, length, samples);
+        return Decision.SILENCE;
+    }
+
+    public void reset() {
+        inSpeech = false;
+        hangoverRemaining = 0;
+        prerollLength = 0;
+    }
+
+    public byte[] preroll() {
+        return preroll;
+    }
+
+    public int prerollLength() {
+        return prerollLength;
+    }
+
+    public VadStats stats() {
+        long total = totalSamples;
+        double skippedPercent = total == 0 ? 0.0 : 100.0 * skippedSamples / total;
+        return new VadStats(true, skippedPercent, speechSegments);
+    }
+
+    private void skip(byte[] pcm, int length, int samples) {
+        skippedSamples += samples;
+        int kept = Math.min(length, preroll.length);
+        System.arraycopy(pcm, length - kept, preroll, 0, kept);
+        prerollLength = kept;
+    }
+}
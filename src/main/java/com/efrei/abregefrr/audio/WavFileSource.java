@@ -0,0 +1,66 @@
+package com.efrei.abregefrr.audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.nio.file.Path;
+
+public final class WavFileSource implements AudioSource {
+
+    private final Path path;
+    private final int sampleRate;
+    private AudioInputStream stream;
+
+    public WavFileSource(Path path, int sampleRate) {
+        this.path = path;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void open() throws IOException {
+        try {
+            stream = AudioSystem.getAudioInputStream(path.toFile());
+        } catch (UnsupportedAudioFileException e) {
+            throw new IOException("Fichier audio non reconnu : " + path, e);
+        }
+        AudioFormat format = stream.getFormat();
+        if (format.getEncoding() != AudioFormat.Encoding.PCM_SIGNED || format.getSampleSizeInBits() != 16
+                || format.getChannels() != 1 || format.isBigEndian()) {
+            close();
+            throw new IOException("WAV attendu en PCM 16 bits mono : " + format);
+        }
+        if (Math.round(format.getSampleRate()) != sampleRate) {
+            close();
+            throw new IOException("WAV échantillonné à " + Math.round(format.getSampleRate())
+                    + " Hz, " + sampleRate + " Hz attendus");
+        }
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = stream.readNBytes(buffer, offset, length);
+        return read == 0 ? -1 : read;
+    }
+
+    @Override
+    public boolean realTime() {
+        return false;
+    }
+
+    @Override
+    public String description() {
+        return "wav:" + path;
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.efrei.abregefrr.batch;
+
+record AudioChunk(int index, int startSample, int endSample) {
+
+    int samples() {
+        return endSample - startSample;
+    }
+}
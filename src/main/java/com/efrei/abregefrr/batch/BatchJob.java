@@ -0,0 +1,47 @@
+package com.efrei.abregefrr.batch;
+
+import com.efrei.abregefrr.live.LiveEventPayload;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+final class BatchJob {
+
+    private final SseEmitter emitter;
+    private long sequence;
+    private volatile boolean cancelled;
+
+    BatchJob(SseEmitter emitter) {
+        this.emitter = emitter;
+        emitter.onCompletion(() -> cancelled = true);
+        emitter.onTimeout(() -> cancelled = true);
+        emitter.onError(e -> cancelled = true);
+    }
+
+    void send(String type, String payload) {
+        send(new LiveEventPayload(type, payload));
+    }
+
+    synchronized void send(LiveEventPayload payload) {
+        if (cancelled) {
+            return;
+        }
+        LiveEventPayload event = new LiveEventPayload(payload.type(), payload.payload(), ++sequence, payload.words(),
+                null, payload.model(), null);
+        try {
+            emitter.send(SseEmitter.event().id(Long.toString(event.id())).data(event));
+        } catch (IOException | IllegalStateException e) {
+            cancelled = true;
+        }
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    void complete() {
+        if (!cancelled) {
+            emitter.complete();
+        }
+    }
+}
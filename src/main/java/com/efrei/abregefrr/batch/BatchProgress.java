@@ -0,0 +1,4 @@
+package com.efrei.abregefrr.batch;
+
+public record BatchProgress(int chunksDone, int chunks, long audioMs, long elapsedMs, double realTimeFactor) {
+}
@@ -0,0 +1,39 @@
+package com.efrei.abregefrr.batch;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api")
+public class BatchTranscriptionController {
+
+    private final BatchTranscriptionService batchService;
+
+    public BatchTranscriptionController(BatchTranscriptionService batchService) {
+        this.batchService = batchService;
+    }
+
+    @PostMapping(value = "/transcribe",
+            consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE, "audio/wav", "audio/x-wav", "audio/L16"},
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter transcribe(InputStream audio,
+                                 @RequestParam(value = "summarize", defaultValue = "true") boolean summarize)
+            throws IOException {
+        try {
+            return batchService.transcribe(audio, summarize);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+}
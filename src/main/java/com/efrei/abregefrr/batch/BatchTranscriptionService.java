@@ -0,0 +1,302 @@
+package com.efrei.abregefrr.batch;
+
+import com.efrei.abregefrr.live.LiveEventPayload;
+import com.efrei.abregefrr.live.RecognizerPool;
+import com.efrei.abregefrr.live.VoskResultParser;
+import com.efrei.abregefrr.summary.Summarizer;
+import com.efrei.abregefrr.summary.SummaryContext;
+import com.efrei.abregefrr.summary.SummaryTiming;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.vosk.Recognizer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class BatchTranscriptionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchTranscriptionService.class);
+
+    private static final int DECODE_FRAME_BYTES = 8192;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RecognizerPool recognizers;
+    private final Summarizer summarizer;
+
+    private ExecutorService decodePool;
+    private Semaphore jobs;
+
+    @Value("${live.sample-rate:16000}")
+    private int sampleRate;
+
+    @Value("${vad.energy-threshold:300}")
+    private double silenceThreshold;
+
+    @Value("${batch.threads:0}")
+    private int threads;
+
+    @Value("${batch.max-jobs:2}")
+    private int maxJobs;
+
+    @Value("${batch.min-chunk-seconds:20}")
+    private int minChunkSeconds;
+
+    @Value("${batch.max-chunk-seconds:60}")
+    private int maxChunkSeconds;
+
+    @Value("${batch.max-upload-bytes:536870912}")
+    private long maxUploadBytes;
+
+    public BatchTranscriptionService(RecognizerPool recognizers, Summarizer summarizer) {
+        this.recognizers = recognizers;
+        this.summarizer = summarizer;
+    }
+
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        decodePool = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread t = new Thread(r, "batch-decode-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        });
+        jobs = new Semaphore(maxJobs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        decodePool.shutdownNow();
+    }
+
+    public SseEmitter transcribe(InputStream audio, boolean summarize) throws IOException {
+        if (!jobs.tryAcquire()) {
+            throw new IllegalStateException("Trop de transcriptions en cours");
+        }
+        boolean handedOff = false;
+        try {
+            ByteBuffer pcm = loadPcm(audio);
+            SseEmitter emitter = new SseEmitter(0L);
+            BatchJob job = new BatchJob(emitter);
+            Thread.ofVirtual().name("batch-job").start(() -> run(job, pcm, summarize));
+            handedOff = true;
+            return emitter;
+        } finally {
+            // Whatever went wrong, errors included, the permit stays with the caller until the job owns it.
+            if (!handedOff) {
+                jobs.release();
+            }
+        }
+    }
+
+    // The upload is spooled to disk to learn its size, then read off-heap: with no mapping left on the file,
+    // it can be deleted right away, Windows included.
+    private ByteBuffer loadPcm(InputStream audio) throws IOException {
+        Path file = Files.createTempFile("abrege-batch-", ".audio");
+        try {
+            spool(audio, file);
+            return readPcm(file);
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOGGER.warn("Impossible de supprimer {} : {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private void spool(InputStream audio, Path file) throws IOException {
+        long limit = Math.min(maxUploadBytes, Integer.MAX_VALUE);
+        long total = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int read;
+            while ((read = audio.read(buffer)) >= 0) {
+                total += read;
+                if (total > limit) {
+                    throw new ResponseStatusException(HttpStatus.CONTENT_TOO_LARGE,
+                            "Fichier audio trop volumineux (" + limit + " octets au plus)");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private ByteBuffer readPcm(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer data = ByteBuffer.allocateDirect((int) size);
+            while (data.hasRemaining()) {
+                if (channel.read(data) < 0) {
+                    break;
+                }
+            }
+            data.flip();
+            PcmFormat format;
+            try {
+                format = PcmFormat.detect(data, size, sampleRate);
+            } catch (IOException e) {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            }
+            if (format.sampleRate() != sampleRate) {
+                throw new IllegalArgumentException("Fréquence " + format.sampleRate() + " Hz non supportée, "
+                        + sampleRate + " Hz attendus");
+            }
+            return data.slice((int) format.dataOffset(), (int) format.dataLength());
+        }
+    }
+
+    private void run(BatchJob job, ByteBuffer pcm, boolean summarize) {
+        long started = System.nanoTime();
+        ExecutorService summaries = summarize ? Executors.newSingleThreadExecutor(Thread.ofVirtual().factory()) : null;
+        SummaryContext context = summarize ? summarizer.newContext() : null;
+        List<CompletableFuture<List<LiveEventPayload>>> decoded = new ArrayList<>();
+        try {
+            List<AudioChunk> chunks = new SilenceSplitter(sampleRate, silenceThreshold, minChunkSeconds, maxChunkSeconds)
+                    .split(pcm);
+            long totalSamples = pcm.remaining() / 2;
+            job.send("status", "batch-started");
+            for (AudioChunk chunk : chunks) {
+                decoded.add(CompletableFuture.supplyAsync(() -> decode(pcm, chunk), decodePool));
+            }
+
+            long stitchedSamples = 0;
+            for (AudioChunk chunk : chunks) {
+                if (job.isCancelled()) {
+                    break;
+                }
+                List<LiveEventPayload> sentences = decoded.get(chunk.index()).join();
+                sentences.forEach(job::send);
+                stitchedSamples += chunk.samples();
+                job.send("batch-progress", json(progress(chunk.index() + 1, chunks.size(), stitchedSamples, started)));
+                String chunkText = String.join(" ", sentences.stream().map(LiveEventPayload::payload).toList());
+                if (summaries != null && !chunkText.isBlank()) {
+                    summaries.execute(() -> summarize(job, context, chunkText));
+                }
+            }
+            if (summaries != null) {
+                summaries.shutdown();
+                while (!summaries.awaitTermination(1, TimeUnit.SECONDS)) {
+                    if (job.isCancelled()) {
+                        summaries.shutdownNow();
+                    }
+                }
+            }
+            job.send("batch-end", json(progress(chunks.size(), chunks.size(), totalSamples, started)));
+        } catch (Exception e) {
+            LOGGER.warn("Transcription par lot interrompue : {}", e.getMessage());
+            job.send("error", "Transcription interrompue : " + e.getMessage());
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            decoded.forEach(future -> future.cancel(true));
+            if (summaries != null) {
+                summaries.shutdownNow();
+            }
+            job.complete();
+            jobs.release();
+        }
+    }
+
+    private List<LiveEventPayload> decode(ByteBuffer pcm, AudioChunk chunk) {
+        Recognizer recognizer;
+        try {
+            recognizer = recognizers.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            ByteBuffer view = pcm.duplicate();
+            view.limit(chunk.endSample() * 2).position(chunk.startSample() * 2);
+            byte[] frame = new byte[DECODE_FRAME_BYTES];
+            VoskResultParser results = new VoskResultParser();
+            double offsetSeconds = (double) chunk.startSample() / sampleRate;
+            List<LiveEventPayload> sentences = new ArrayList<>();
+            while (view.hasRemaining()) {
+                int length = Math.min(frame.length, view.remaining());
+                view.get(frame, 0, length);
+                if (recognizer.acceptWaveForm(frame, length)) {
+                    addSentence(sentences, results, recognizer.getResult(), offsetSeconds);
+                }
+            }
+            addSentence(sentences, results, recognizer.getFinalResult(), offsetSeconds);
+            return sentences;
+        } finally {
+            recognizers.release(recognizer);
+        }
+    }
+
+    private static void addSentence(List<LiveEventPayload> sentences,
+                                    VoskResultParser results,
+                                    String json,
+                                    double offsetSeconds) {
+        String sentence = results.text(json);
+        if (!sentence.isBlank()) {
+            sentences.add(new LiveEventPayload("transcript-final", sentence, results.words(offsetSeconds)));
+        }
+    }
+
+    private void summarize(BatchJob job, SummaryContext context, String text) {
+        if (job.isCancelled()) {
+            return;
+        }
+        String model = summarizer.activeModel();
+        job.send(LiveEventPayload.summaryStart(text, model));
+        try {
+            SummaryTiming timing = summarizer.summarize(text, model, context, token -> {
+                String cleaned = token.replace('\n', ' ').replace('\r', ' ');
+                if (!cleaned.isEmpty()) {
+                    job.send("summary-token", cleaned);
+                }
+            });
+            job.send("summary-end", text);
+            job.send("summary-timing", json(timing));
+        } catch (IOException e) {
+            job.send("error", "Ollama indisponible : " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private BatchProgress progress(int chunksDone, int chunks, long samples, long started) {
+        long audioMs = samples * 1000 / sampleRate;
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        double realTimeFactor = audioMs == 0 ? 0.0 : (double) elapsedMs / audioMs;
+        return new BatchProgress(chunksDone, chunks, audioMs, elapsedMs, realTimeFactor);
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            return "{}";
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.efrei.abregefrr.batch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+record PcmFormat(int sampleRate, long dataOffset, long dataLength) {
+
+    static PcmFormat detect(ByteBuffer header, long fileSize, int defaultSampleRate) throws IOException {
+        ByteBuffer buffer = header.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < 12 || buffer.getInt(0) != 0x46464952 || buffer.getInt(8) != 0x45564157) {
+            return new PcmFormat(defaultSampleRate, 0, fileSize & ~1L);
+        }
+        int sampleRate = 0;
+        int position = 12;
+        while (position + 8 <= buffer.limit()) {
+            int chunkId = buffer.getInt(position);
+            long chunkSize = Integer.toUnsignedLong(buffer.getInt(position + 4));
+            int body = position + 8;
+            if (chunkId == 0x20746d66) {
+                if (body + 16 > buffer.limit()) {
+                    throw new IOException("WAV invalide : bloc fmt tronqué");
+                }
+                int audioFormat = buffer.getShort(body) & 0xffff;
+                int channels = buffer.getShort(body + 2) & 0xffff;
+                int bitsPerSample = buffer.getShort(body + 14) & 0xffff;
+                if (audioFormat != 1 || channels != 1 || bitsPerSample != 16) {
+                    throw new IOException("WAV attendu en PCM 16 bits mono (format=" + audioFormat
+                            + ", canaux=" + channels + ", bits=" + bitsPerSample + ")");
+                }
+                sampleRate = buffer.getInt(body + 4);
+            } else if (chunkId == 0x61746164) {
+                if (sampleRate == 0) {
+                    throw new IOException("WAV invalide : bloc fmt manquant");
+                }
+                long length = Math.min(chunkSize, fileSize - body) & ~1L;
+                return new PcmFormat(sampleRate, body, length);
+            }
+            position = body + (int) (chunkSize + (chunkSize & 1));
+        }
+        throw new IOException("WAV invalide : bloc data introuvable");
+    }
+}
@@ -0,0 +1,67 @@
+package com.efrei.abregefrr.batch;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+final class SilenceSplitter {
+
+    private static final int WINDOW_MS = 30;
+
+    private final int sampleRate;
+    private final double silenceThreshold;
+    private final int minChunkSamples;
+    private final int maxChunkSamples;
+
+    SilenceSplitter(int sampleRate, double silenceThreshold, int minChunkSeconds, int maxChunkSeconds) {
+        this.sampleRate = sampleRate;
+        this.silenceThreshold = silenceThreshold;
+        this.minChunkSamples = minChunkSeconds * sampleRate;
+        this.maxChunkSamples = Math.max(minChunkSeconds + 1, maxChunkSeconds) * sampleRate;
+    }
+
+    List<AudioChunk> split(ByteBuffer pcm) {
+        ShortBuffer samples = pcm.duplicate().order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
+        int total = samples.remaining();
+        int window = Math.max(1, sampleRate * WINDOW_MS / 1000);
+        List<AudioChunk> chunks = new ArrayList<>();
+
+        int start = 0;
+        while (total - start > maxChunkSamples) {
+            int cut = -1;
+            int quietest = -1;
+            double quietestRms = Double.MAX_VALUE;
+            for (int pos = start + minChunkSamples; pos + window <= start + maxChunkSamples; pos += window) {
+                double rms = rms(samples, pos, window);
+                if (rms < silenceThreshold) {
+                    cut = pos + window / 2;
+                    break;
+                }
+                if (rms < quietestRms) {
+                    quietestRms = rms;
+                    quietest = pos + window / 2;
+                }
+            }
+            if (cut < 0) {
+                cut = quietest > start ? quietest : start + maxChunkSamples;
+            }
+            chunks.add(new AudioChunk(chunks.size(), start, cut));
+            start = cut;
+        }
+        if (start < total) {
+            chunks.add(new AudioChunk(chunks.size(), start, total));
+        }
+        return chunks;
+    }
+
+    private static double rms(ShortBuffer samples, int from, int length) {
+        long sumSquares = 0;
+        for (int i = from; i < from + length; i++) {
+            int sample = samples.get(i);
+            sumSquares += (long) sample * sample;
+        }
+        return Math.sqrt((double) sumSquares / length);
+    }
+}
@@ -0,0 +1,205 @@
+package com.efrei.abregefrr.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// Record: [int length][int crc32][long timestamp][byte type][UTF-8 text], length and crc covering what follows.
+final class LogSegment implements AutoCloseable {
+
+    static final int HEADER = 8;
+    static final int BODY_HEADER = 9;
+
+    private final Path path;
+    private final long number;
+    private volatile long baseTimestamp = Long.MAX_VALUE;
+    private final FileChannel channel;
+    private final int indexIntervalBytes;
+
+    private volatile long size;
+    private volatile long lastTimestamp;
+    private volatile long records;
+    private long lastIndexedPosition = -1;
+    private long[] indexTimestamps = new long[16];
+    private long[] indexPositions = new long[16];
+    private int indexSize;
+    private MappedByteBuffer sealedMapping;
+
+    private LogSegment(Path path, long number, FileChannel channel, int indexIntervalBytes) {
+        this.path = path;
+        this.number = number;
+        this.channel = channel;
+        this.indexIntervalBytes = indexIntervalBytes;
+    }
+
+    static LogSegment create(Path path, long number, int indexIntervalBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        return new LogSegment(path, number, channel, indexIntervalBytes);
+    }
+
+    // Rebuilds the sparse index and cuts a torn tail left by a crash in the middle of a batch.
+    static LogSegment recover(Path path, long number, int indexIntervalBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        LogSegment segment = new LogSegment(path, number, channel, indexIntervalBytes);
+        long length = channel.size();
+        long valid = 0;
+        if (length > 0) {
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, length).order(ByteOrder.BIG_ENDIAN);
+            CRC32 crc = new CRC32();
+            while (valid + HEADER + BODY_HEADER <= length) {
+                int recordLength = data.getInt((int) valid);
+                if (recordLength < BODY_HEADER || valid + HEADER + recordLength > length) {
+                    break;
+                }
+                crc.reset();
+                crc.update(data.slice((int) valid + HEADER, recordLength));
+                if ((int) crc.getValue() != data.getInt((int) valid + 4)) {
+                    break;
+                }
+                segment.indexRecord(valid, data.getLong((int) valid + HEADER));
+                valid += HEADER + recordLength;
+            }
+        }
+        if (valid < length) {
+            channel.truncate(valid);
+        }
+        segment.size = valid;
+        return segment;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long number() {
+        return number;
+    }
+
+    long size() {
+        return size;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    long records() {
+        return records;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Writer thread only. The buffer holds whole records; their positions were registered through indexRecord.
+    void write(ByteBuffer batch, List<long[]> records) throws IOException {
+        long position = size;
+        while (batch.hasRemaining()) {
+            channel.write(batch, position + batch.position());
+        }
+        for (long[] record : records) {
+            indexRecord(position + record[0], record[1]);
+        }
+        size = position + batch.limit();
+    }
+
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    void seal() throws IOException {
+        force();
+        synchronized (this) {
+            sealedMapping = map();
+        }
+    }
+
+    void read(long from, long to, int limit, List<TranscriptEntry> out) throws IOException {
+        if (size == 0 || lastTimestamp < from || baseTimestamp > to) {
+            return;
+        }
+        ByteBuffer data = mapping();
+        int position = (int) floorPosition(from);
+        int end = data.limit();
+        while (position + HEADER + BODY_HEADER <= end && out.size() < limit) {
+            int recordLength = data.getInt(position);
+            long timestamp = data.getLong(position + HEADER);
+            if (timestamp > to) {
+                return;
+            }
+            if (timestamp >= from) {
+                byte type = data.get(position + HEADER + 8);
+                int textLength = recordLength - BODY_HEADER;
+                byte[] text = new byte[textLength];
+                data.get(position + HEADER + BODY_HEADER, text);
+                out.add(new TranscriptEntry(timestamp, RecordType.name(type), new String(text, StandardCharsets.UTF_8)));
+            }
+            position += HEADER + recordLength;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private synchronized ByteBuffer mapping() throws IOException {
+        if (sealedMapping != null) {
+            return sealedMapping.duplicate();
+        }
+        // The active segment grows: map what has been written so far.
+        return map();
+    }
+
+    private MappedByteBuffer map() throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    private synchronized void indexRecord(long position, long timestamp) {
+        if (position == 0) {
+            baseTimestamp = timestamp;
+        }
+        lastTimestamp = timestamp;
+        records++;
+        if (lastIndexedPosition >= 0 && position - lastIndexedPosition < indexIntervalBytes) {
+            return;
+        }
+        if (indexSize == indexTimestamps.length) {
+            indexTimestamps = Arrays.copyOf(indexTimestamps, indexSize * 2);
+            indexPositions = Arrays.copyOf(indexPositions, indexSize * 2);
+        }
+        indexTimestamps[indexSize] = timestamp;
+        indexPositions[indexSize] = position;
+        indexSize++;
+        lastIndexedPosition = position;
+    }
+
+    // Last indexed record strictly before `from`: timestamps repeat, so an equal one may hide earlier matches.
+    private synchronized long floorPosition(long from) {
+        int low = 0;
+        int high = indexSize - 1;
+        long position = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (indexTimestamps[mid] < from) {
+                position = indexPositions[mid];
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return position;
+    }
+}
@@ -0,0 +1,22 @@
+package com.efrei.abregefrr.journal;
+
+final class RecordType {
+
+    static final byte TRANSCRIPT = 1;
+    static final byte SUMMARY = 2;
+
+    private RecordType() {
+    }
+
+    static byte of(String type) {
+        return switch (type) {
+            case TranscriptLog.TRANSCRIPT -> TRANSCRIPT;
+            case TranscriptLog.SUMMARY -> SUMMARY;
+            default -> throw new IllegalArgumentException("Type d'entrée inconnu : " + type);
+        };
+    }
+
+    static String name(byte type) {
+        return type == SUMMARY ? TranscriptLog.SUMMARY : TranscriptLog.TRANSCRIPT;
+    }
+}
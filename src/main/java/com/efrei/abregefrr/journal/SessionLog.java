@@ -0,0 +1,125 @@
+package com.efrei.abregefrr.journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+final class SessionLog implements AutoCloseable {
+
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int indexIntervalBytes;
+    private final List<LogSegment> segments = new CopyOnWriteArrayList<>();
+    private boolean dirty;
+
+    private SessionLog(Path directory, long segmentBytes, int indexIntervalBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.indexIntervalBytes = indexIntervalBytes;
+    }
+
+    static SessionLog open(Path directory, long segmentBytes, int indexIntervalBytes) throws IOException {
+        Files.createDirectories(directory);
+        SessionLog log = new SessionLog(directory, segmentBytes, indexIntervalBytes);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            String name = file.getFileName().toString();
+            long number = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+            LogSegment segment = LogSegment.recover(file, number, indexIntervalBytes);
+            if (i < files.size() - 1) {
+                segment.seal();
+            }
+            log.segments.add(segment);
+        }
+        return log;
+    }
+
+    static boolean exists(Path directory) {
+        return Files.isDirectory(directory);
+    }
+
+    long lastTimestamp() {
+        return segments.isEmpty() ? 0 : segments.getLast().lastTimestamp();
+    }
+
+    // Writer thread only.
+    LogSegment segmentFor(int bytes) throws IOException {
+        LogSegment active = segments.isEmpty() ? null : segments.getLast();
+        if (active != null && (active.isEmpty() || active.size() + bytes <= segmentBytes)) {
+            return active;
+        }
+        if (active != null) {
+            active.seal();
+        }
+        long number = active == null ? 0 : active.number() + 1;
+        LogSegment next = LogSegment.create(directory.resolve("%020d%s".formatted(number, SUFFIX)), number,
+                indexIntervalBytes);
+        segments.add(next);
+        return next;
+    }
+
+    void markDirty() {
+        dirty = true;
+    }
+
+    void forceIfDirty() throws IOException {
+        if (dirty) {
+            dirty = false;
+            segments.getLast().force();
+        }
+    }
+
+    long records() {
+        long total = 0;
+        for (LogSegment segment : segments) {
+            total += segment.records();
+        }
+        return total;
+    }
+
+    // Hands every record from the given ordinal on, skipping whole segments that precede it.
+    void replay(String session, long fromOrdinal, TranscriptListener listener) throws IOException {
+        long ordinal = 0;
+        for (LogSegment segment : segments) {
+            long count = segment.records();
+            if (ordinal + count <= fromOrdinal) {
+                ordinal += count;
+                continue;
+            }
+            List<TranscriptEntry> entries = new ArrayList<>();
+            segment.read(Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE, entries);
+            for (TranscriptEntry entry : entries) {
+                if (ordinal >= fromOrdinal) {
+                    listener.appended(session, ordinal, entry);
+                }
+                ordinal++;
+            }
+        }
+    }
+
+    List<TranscriptEntry> read(long from, long to, int limit) throws IOException {
+        List<TranscriptEntry> entries = new ArrayList<>();
+        for (LogSegment segment : segments) {
+            if (entries.size() >= limit) {
+                break;
+            }
+            segment.read(from, to, limit, entries);
+        }
+        return entries;
+    }
+
+    @Override
+    public void close() {
+        segments.forEach(LogSegment::close);
+    }
+}
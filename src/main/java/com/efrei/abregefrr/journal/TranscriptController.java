@@ -0,0 +1,43 @@
+package com.efrei.abregefrr.journal;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+@RestController
+@RequestMapping("/api/sessions")
+public class TranscriptController {
+
+    private static final Pattern SESSION_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final int MAX_LIMIT = 10_000;
+
+    private final TranscriptLog transcriptLog;
+
+    public TranscriptController(TranscriptLog transcriptLog) {
+        this.transcriptLog = transcriptLog;
+    }
+
+    @GetMapping("/{session}/transcript")
+    public List<TranscriptEntry> transcript(@PathVariable("session") String sessionId,
+                                            @RequestParam(value = "from", defaultValue = "0") long from,
+                                            @RequestParam(value = "to", defaultValue = "" + Long.MAX_VALUE) long to,
+                                            @RequestParam(value = "limit", defaultValue = "1000") int limit)
+            throws IOException {
+        if (!SESSION_ID.matcher(sessionId).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Identifiant de session invalide");
+        }
+        if (from > to || limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Intervalle ou limite invalide");
+        }
+        return transcriptLog.read(sessionId, from, to, Math.min(limit, MAX_LIMIT))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session inconnue : " + sessionId));
+    }
+}
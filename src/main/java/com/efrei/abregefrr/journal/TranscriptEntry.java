@@ -0,0 +1,4 @@
+package com.efrei.abregefrr.journal;
+
+public record TranscriptEntry(long timestamp, String type, String text) {
+}
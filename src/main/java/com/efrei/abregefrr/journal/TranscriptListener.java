@@ -0,0 +1,8 @@
+package com.efrei.abregefrr.journal;
+
+@FunctionalInterface
+public interface TranscriptListener {
+
+    // Called on the writer thread once the record is written; ordinals count a session's records from 0.
+    void appended(String session, long ordinal, TranscriptEntry entry);
+}
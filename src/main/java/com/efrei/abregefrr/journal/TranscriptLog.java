@@ -0,0 +1,284 @@
+package com.efrei.abregefrr.journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Durable, append-only log of finalized sentences and summaries, one directory of segments per session.
+// Callers only enqueue: a single writer thread batches records, writes them and fsyncs them as a group.
+@Component
+public class TranscriptLog {
+
+    public static final String TRANSCRIPT = "transcript-final";
+    public static final String SUMMARY = "summary";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TranscriptLog.class);
+
+    private final Queue<PendingRecord> pending = new ConcurrentLinkedQueue<>();
+    private final Map<String, SessionLog> logs = new ConcurrentHashMap<>();
+    private final List<TranscriptListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer batch = ByteBuffer.allocateDirect(64 * 1024);
+    private Thread writer;
+    private volatile boolean running = true;
+
+    @Value("${transcript.enabled:true}")
+    private boolean enabled;
+
+    @Value("${transcript.dir:data/transcripts}")
+    private String directory;
+
+    @Value("${transcript.segment-bytes:16777216}")
+    private long segmentBytes;
+
+    @Value("${transcript.index-interval-bytes:4096}")
+    private int indexIntervalBytes;
+
+    @Value("${transcript.fsync-interval-ms:100}")
+    private long fsyncIntervalMs;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        // Reads address segments through int offsets into their mapping.
+        segmentBytes = Math.min(segmentBytes, Integer.MAX_VALUE);
+        writer = new Thread(this::writeLoop, "transcript-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        logs.values().forEach(SessionLog::close);
+    }
+
+    public void append(String session, String type, String text) {
+        if (!enabled || writer == null) {
+            return;
+        }
+        pending.offer(new PendingRecord(session, System.currentTimeMillis(), RecordType.of(type), text));
+        LockSupport.unpark(writer);
+    }
+
+    public Optional<List<TranscriptEntry>> read(String session, long from, long to, int limit) throws IOException {
+        SessionLog log = logs.get(session);
+        if (log == null) {
+            if (!enabled || !SessionLog.exists(sessionDirectory(session))) {
+                return Optional.empty();
+            }
+            log = log(session);
+        }
+        return Optional.of(log.read(from, to, limit));
+    }
+
+    public void addListener(TranscriptListener listener) {
+        listeners.add(listener);
+    }
+
+    public List<String> sessions() throws IOException {
+        Path root = Path.of(directory);
+        if (!enabled || !Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> listing = Files.list(root)) {
+            return listing.filter(Files::isDirectory).map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    public void replay(String session, long fromOrdinal, TranscriptListener listener) throws IOException {
+        if (enabled && SessionLog.exists(sessionDirectory(session))) {
+            log(session).replay(session, fromOrdinal, listener);
+        }
+    }
+
+    public long appended() {
+        return appended.get();
+    }
+
+    public long failed() {
+        return failed.get();
+    }
+
+    private void writeLoop() {
+        long fsyncNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMs);
+        long lastForce = System.nanoTime();
+        boolean dirty = false;
+        while (running || !pending.isEmpty()) {
+            if (pending.isEmpty()) {
+                if (dirty && System.nanoTime() - lastForce >= fsyncNanos) {
+                    forceAll();
+                    dirty = false;
+                    lastForce = System.nanoTime();
+                    continue;
+                }
+                LockSupport.parkNanos(this, dirty ? fsyncNanos : TimeUnit.SECONDS.toNanos(1));
+                continue;
+            }
+            dirty |= drain();
+            if (fsyncNanos == 0 || System.nanoTime() - lastForce >= fsyncNanos) {
+                forceAll();
+                dirty = false;
+                lastForce = System.nanoTime();
+            }
+        }
+        forceAll();
+    }
+
+    private boolean drain() {
+        Map<String, List<PendingRecord>> bySession = new LinkedHashMap<>();
+        PendingRecord record;
+        while ((record = pending.poll()) != null) {
+            bySession.computeIfAbsent(record.session(), s -> new ArrayList<>()).add(record);
+        }
+        boolean written = false;
+        for (Map.Entry<String, List<PendingRecord>> entry : bySession.entrySet()) {
+            List<TranscriptEntry> entries;
+            long firstOrdinal;
+            try {
+                SessionLog log = log(entry.getKey());
+                firstOrdinal = log.records();
+                entries = write(log, entry.getValue());
+                appended.addAndGet(entries.size());
+                written = true;
+            } catch (IOException | RuntimeException e) {
+                failed.addAndGet(entry.getValue().size());
+                LOGGER.error("Écriture du journal de la session {} impossible", entry.getKey(), e);
+                continue;
+            }
+            notifyListeners(entry.getKey(), firstOrdinal, entries);
+        }
+        return written;
+    }
+
+    private void notifyListeners(String session, long firstOrdinal, List<TranscriptEntry> entries) {
+        for (TranscriptListener listener : listeners) {
+            try {
+                for (int i = 0; i < entries.size(); i++) {
+                    listener.appended(session, firstOrdinal + i, entries.get(i));
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warn("Abonné du journal en erreur pour la session {}", session, e);
+            }
+        }
+    }
+
+    private List<TranscriptEntry> write(SessionLog log, List<PendingRecord> records) throws IOException {
+        List<TranscriptEntry> entries = new ArrayList<>(records.size());
+        long lastTimestamp = log.lastTimestamp();
+        LogSegment segment = null;
+        List<long[]> positions = new ArrayList<>();
+        batch.clear();
+        for (PendingRecord record : records) {
+            byte[] text = record.text().getBytes(StandardCharsets.UTF_8);
+            int bodyLength = LogSegment.BODY_HEADER + text.length;
+            int length = LogSegment.HEADER + bodyLength;
+            // Wall clock may step back; the time index needs non-decreasing timestamps.
+            long timestamp = Math.max(record.timestamp(), lastTimestamp);
+            if (segment != null && segment.size() + batch.position() + length > segmentBytes) {
+                flush(segment, positions);
+                segment = null;
+            }
+            if (segment == null) {
+                segment = log.segmentFor(length);
+            }
+            ensureCapacity(length);
+            int start = batch.position();
+            positions.add(new long[]{start, timestamp});
+            batch.putInt(bodyLength).putInt(0).putLong(timestamp).put(record.type()).put(text);
+            crc.reset();
+            crc.update(batch.slice(start + LogSegment.HEADER, bodyLength));
+            batch.putInt(start + 4, (int) crc.getValue());
+            lastTimestamp = timestamp;
+            entries.add(new TranscriptEntry(timestamp, RecordType.name(record.type()), record.text()));
+        }
+        if (segment != null) {
+            flush(segment, positions);
+        }
+        log.markDirty();
+        return entries;
+    }
+
+    private void flush(LogSegment segment, List<long[]> positions) throws IOException {
+        batch.flip();
+        segment.write(batch, positions);
+        batch.clear();
+        positions.clear();
+    }
+
+    private void ensureCapacity(int length) {
+        if (batch.remaining() < length) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(batch.capacity() * 2, batch.position() + length));
+            batch.flip();
+            larger.put(batch);
+            batch = larger;
+        }
+    }
+
+    private void forceAll() {
+        for (Map.Entry<String, SessionLog> entry : logs.entrySet()) {
+            try {
+                entry.getValue().forceIfDirty();
+            } catch (IOException e) {
+                LOGGER.error("fsync du journal de la session {} impossible", entry.getKey(), e);
+            }
+        }
+    }
+
+    private SessionLog log(String session) throws IOException {
+        SessionLog log = logs.get(session);
+        if (log != null) {
+            return log;
+        }
+        synchronized (logs) {
+            log = logs.get(session);
+            if (log == null) {
+                log = SessionLog.open(sessionDirectory(session), segmentBytes, indexIntervalBytes);
+                logs.put(session, log);
+            }
+            return log;
+        }
+    }
+
+    private Path sessionDirectory(String session) {
+        return Path.of(directory).resolve(session);
+    }
+
+    private record PendingRecord(String session, long timestamp, byte type, String text) {
+    }
+}
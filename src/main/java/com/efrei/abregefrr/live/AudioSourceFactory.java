@@ -0,0 +1,70 @@
+package com.efrei.abregefrr.live;
+
+import com.efrei.abregefrr.audio.AudioSource;
+import com.efrei.abregefrr.audio.AudioSourceType;
+import com.efrei.abregefrr.audio.MicrophoneSource;
+import com.efrei.abregefrr.audio.PacedAudioSource;
+import com.efrei.abregefrr.audio.PcmStreamSource;
+import com.efrei.abregefrr.audio.SyntheticSource;
+import com.efrei.abregefrr.audio.WavFileSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+@Component
+public class AudioSourceFactory {
+
+    @Value("${live.source.type:microphone}")
+    private AudioSourceType type;
+
+    @Value("${live.source.path:}")
+    private String path;
+
+    @Value("${live.source.address:}")
+    private String address;
+
+    @Value("${live.source.speed:1.0}")
+    private double speed;
+
+    @Value("${live.source.frequency:440}")
+    private double frequency;
+
+    @Value("${live.source.amplitude:8000}")
+    private double amplitude;
+
+    @Value("${live.source.duration-seconds:0}")
+    private double durationSeconds;
+
+    public AudioSourceType type() {
+        return type;
+    }
+
+    public AudioSource create(int sampleRate) {
+        AudioSource source = switch (type) {
+            case MICROPHONE -> new MicrophoneSource(sampleRate);
+            case WAV -> new WavFileSource(Path.of(requirePath()), sampleRate);
+            case PCM -> address.isBlank() ? PcmStreamSource.file(Path.of(requirePath())) : socket();
+            case TONE -> SyntheticSource.tone(sampleRate, frequency, amplitude, durationSeconds);
+            case NOISE -> SyntheticSource.noise(sampleRate, amplitude, durationSeconds);
+        };
+        // speed <= 0 replays as fast as the pipeline absorbs it, with back-pressure instead of overruns.
+        return source.realTime() || speed <= 0 ? source : new PacedAudioSource(source, sampleRate, speed);
+    }
+
+    private String requirePath() {
+        if (path.isBlank()) {
+            throw new IllegalStateException("live.source.path est requis pour la source " + type);
+        }
+        return path;
+    }
+
+    private AudioSource socket() {
+        int separator = address.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new IllegalStateException("live.source.address attendu sous la forme hôte:port : " + address);
+        }
+        return PcmStreamSource.socket(address.substring(0, separator),
+                Integer.parseInt(address.substring(separator + 1)));
+    }
+}
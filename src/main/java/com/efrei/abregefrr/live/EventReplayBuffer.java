@@ -0,0 +1,43 @@
+package com.efrei.abregefrr.live;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class EventReplayBuffer {
+
+    private final LiveEventPayload[] slots;
+    private long newestId;
+
+    EventReplayBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be >= 1");
+        }
+        this.slots = new LiveEventPayload[capacity];
+    }
+
+    void append(LiveEventPayload event) {
+        slots[slot(event.id())] = event;
+        newestId = event.id();
+    }
+
+    List<LiveEventPayload> missedSince(long lastEventId) {
+        if (newestId == 0 || lastEventId == newestId) {
+            return List.of();
+        }
+        long oldestId = Math.max(1, newestId - slots.length + 1);
+        long fromId = lastEventId > newestId ? oldestId : Math.max(lastEventId + 1, oldestId);
+        List<LiveEventPayload> missed = new ArrayList<>((int) (newestId - fromId + 1));
+        for (long id = fromId; id <= newestId; id++) {
+            LiveEventPayload event = slots[slot(id)];
+            // Relayed ids may skip numbers: a slot can be empty or still hold an older event.
+            if (event != null && event.id() == id && !"transcript-partial".equals(event.type())) {
+                missed.add(event);
+            }
+        }
+        return missed;
+    }
+
+    private int slot(long id) {
+        return (int) (id % slots.length);
+    }
+}
@@ -0,0 +1,139 @@
+package com.efrei.abregefrr.live;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+public final class LiveEventDispatcher implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LiveEventDispatcher.class);
+
+    private final int subscriberCapacity;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final LongConsumer sendLatency;
+
+    private final Queue<LiveEventPayload> handoff = new ConcurrentLinkedQueue<>();
+    private final List<SseSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final List<Consumer<LiveEventPayload>> listeners = new CopyOnWriteArrayList<>();
+    private final ReentrantLock fanOutLock = new ReentrantLock();
+    private final EventReplayBuffer replay;
+    private long sequence;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public LiveEventDispatcher(int subscriberCapacity, SlowConsumerPolicy slowConsumerPolicy, int replayCapacity) {
+        this(subscriberCapacity, slowConsumerPolicy, replayCapacity, nanos -> { });
+    }
+
+    public LiveEventDispatcher(int subscriberCapacity,
+                               SlowConsumerPolicy slowConsumerPolicy,
+                               int replayCapacity,
+                               LongConsumer sendLatency) {
+        if (subscriberCapacity < 1) {
+            throw new IllegalArgumentException("subscriberCapacity must be >= 1");
+        }
+        this.subscriberCapacity = subscriberCapacity;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        this.sendLatency = sendLatency;
+        this.replay = new EventReplayBuffer(replayCapacity);
+        this.dispatcher = Thread.ofVirtual().name("sse-dispatch").unstarted(this::dispatchLoop);
+    }
+
+    public void start() {
+        dispatcher.start();
+    }
+
+    public void publish(LiveEventPayload payload) {
+        handoff.offer(payload);
+        LockSupport.unpark(dispatcher);
+    }
+
+    // Listeners see every numbered event on the dispatch thread, in order: they must only hand it off.
+    public void addListener(Consumer<LiveEventPayload> listener) {
+        listeners.add(listener);
+    }
+
+    public SseEmitter subscribe(LiveEventPayload greeting, Long lastEventId) {
+        return subscribe(new SseEmitter(0L), greeting, lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, LiveEventPayload greeting, Long lastEventId) {
+        SseSubscriber subscriber;
+        fanOutLock.lock();
+        try {
+            List<LiveEventPayload> missed = lastEventId == null ? List.of() : replay.missedSince(lastEventId);
+            subscriber = new SseSubscriber(emitter, subscriberCapacity + missed.size(), slowConsumerPolicy,
+                    subscribers::remove, sendLatency);
+            subscriber.offer(greeting);
+            missed.forEach(subscriber::offer);
+            subscribers.add(subscriber);
+        } finally {
+            fanOutLock.unlock();
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::disconnect);
+        emitter.onError(e -> subscriber.close());
+        subscriber.start();
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public long droppedPartials() {
+        long total = 0;
+        for (SseSubscriber subscriber : subscribers) {
+            total += subscriber.droppedPartials();
+        }
+        return total;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        dispatcher.interrupt();
+        subscribers.forEach(SseSubscriber::disconnect);
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            LiveEventPayload payload = handoff.poll();
+            if (payload == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            fanOutLock.lock();
+            try {
+                // Events relayed from another node keep the id they were given there.
+                LiveEventPayload event = payload.id() > 0 ? payload : payload.withId(sequence + 1);
+                sequence = event.id();
+                replay.append(event);
+                for (Consumer<LiveEventPayload> listener : listeners) {
+                    try {
+                        listener.accept(event);
+                    } catch (RuntimeException e) {
+                        LOGGER.warn("Abonné interne en erreur", e);
+                    }
+                }
+                for (SseSubscriber subscriber : subscribers) {
+                    if (!subscriber.offer(event)) {
+                        LOGGER.info("Client SSE trop lent, déconnexion");
+                        subscriber.disconnect();
+                    }
+                }
+            } finally {
+                fanOutLock.unlock();
+            }
+        }
+    }
+}
@@ -1,5 +1,47 @@
 package com.efrei.abregefrr.live;
 
-public record LiveEventPayload(String type, String payload) {
-}
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LiveEventPayload(String type,
+                               String payload,
+                               long id,
+                               List<WordTiming> words,
+                               Integer keep,
+                               String model,
+                               @JsonIgnore String text) {
+
+    public LiveEventPayload(String type, String payload) {
+        this(type, payload, 0L, null, null, null, null);
+    }
+
+    public LiveEventPayload(String type, String payload, long id) {
+        this(type, payload, id, null, null, null, null);
+    }
 
+    public LiveEventPayload(String type, String payload, List<WordTiming> words) {
+        this(type, payload, 0L, words, null, null, null);
+    }
+
+    public static LiveEventPayload summaryStart(String sentence, String model) {
+        return new LiveEventPayload("summary-start", sentence, 0L, null, null, model, null);
+    }
+
+    static LiveEventPayload partialDelta(String partial, int keep) {
+        return new LiveEventPayload("transcript-partial", partial.substring(keep), 0L, null, keep, null, partial);
+    }
+
+    LiveEventPayload withId(long newId) {
+        return new LiveEventPayload(type, payload, newId, words, keep, model, text);
+    }
+
+    LiveEventPayload withFullText() {
+        if (keep == null || keep == 0) {
+            return this;
+        }
+        return new LiveEventPayload(type, text, id, words, 0, model, text);
+    }
+}
@@ -0,0 +1,30 @@
+package com.efrei.abregefrr.live;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+// Part of the readiness group only: a node still loading its model is alive but should not get viewers yet.
+@Component
+public class LiveHealthIndicator implements HealthIndicator {
+
+    private final LiveTranscriptionService transcriptionService;
+    private final RecognizerPool recognizers;
+
+    public LiveHealthIndicator(LiveTranscriptionService transcriptionService, RecognizerPool recognizers) {
+        this.transcriptionService = transcriptionService;
+        this.recognizers = recognizers;
+    }
+
+    @Override
+    public Health health() {
+        if (transcriptionService.isRelay()) {
+            return Health.up().withDetail("source", transcriptionService.sourceDescription()).build();
+        }
+        Health.Builder health = transcriptionService.isReady() ? Health.up() : Health.outOfService();
+        return health.withDetail("modelLoaded", recognizers.modelLoaded())
+                .withDetail("listening", transcriptionService.isMicrophoneReady())
+                .withDetail("source", transcriptionService.sourceDescription())
+                .build();
+    }
+}
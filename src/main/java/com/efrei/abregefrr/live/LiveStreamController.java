@@ -1,11 +1,17 @@
 package com.efrei.abregefrr.live;
 
+import com.efrei.abregefrr.metrics.PipelineMetrics;
+import com.efrei.abregefrr.summary.OllamaClient;
+import com.efrei.abregefrr.summary.Summarizer;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -13,21 +19,56 @@ import java.util.Map;
 public class LiveStreamController {
 
     private final LiveTranscriptionService transcriptionService;
+    private final Summarizer summarizer;
+    private final PipelineMetrics metrics;
+    private final OllamaClient ollamaClient;
 
-    public LiveStreamController(LiveTranscriptionService transcriptionService) {
+    public LiveStreamController(LiveTranscriptionService transcriptionService,
+                                Summarizer summarizer,
+                                PipelineMetrics metrics,
+                                OllamaClient ollamaClient) {
         this.transcriptionService = transcriptionService;
+        this.summarizer = summarizer;
+        this.metrics = metrics;
+        this.ollamaClient = ollamaClient;
     }
 
     @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter stream() {
-        return transcriptionService.subscribe();
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                             @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        return transcriptionService.subscribe(parseEventId(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam));
     }
 
     @GetMapping("/status")
     public Map<String, Object> status() {
-        return Map.of(
-                "listening", transcriptionService.isMicrophoneReady()
-        );
+        SessionStats stats = transcriptionService.stats();
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("listening", transcriptionService.isMicrophoneReady());
+        status.put("source", transcriptionService.sourceDescription());
+        status.put("metrics", metrics.snapshot());
+        status.put("subscribers", stats.subscribers());
+        status.put("droppedPartials", stats.droppedPartials());
+        status.put("realTimeFactor", stats.realTimeFactor());
+        status.put("audioRing", stats.audioRing());
+        status.put("vad", stats.vad());
+        status.put("summaryQueue", stats.summaryQueue());
+        status.put("summaryCache", summarizer.stats());
+        status.put("summaryModel", summarizer.modelStats());
+        status.put("ollama", ollamaClient.backends());
+        status.put("recognizers", transcriptionService.recognizerPoolStats());
+        status.put("restart", transcriptionService.restartStats());
+        return status;
+    }
+
+    static Long parseEventId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 }
 
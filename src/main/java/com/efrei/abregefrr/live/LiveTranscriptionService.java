@@ -1,7 +1,7 @@
 package com.efrei.abregefrr.live;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.efrei.abregefrr.audio.AudioCapture;
+import com.efrei.abregefrr.audio.AudioSource;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
@@ -9,55 +9,41 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
-import org.vosk.Model;
-import org.vosk.Recognizer;
-
-import javax.sound.sampled.*;
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.file.Paths;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+
+import java.lang.management.ManagementFactory;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 @Service
 public class LiveTranscriptionService {
 
+    public static final String MICROPHONE_SESSION = "default";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(LiveTranscriptionService.class);
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TranscriptionEngine engine;
+    private final RecognizerPool recognizers;
+    private final AudioSourceFactory sources;
+    private TranscriptionSession session;
 
     private final ExecutorService recognitionExecutor = Executors.newSingleThreadExecutor(r -> {
         Thread t = new Thread(r, "live-recognition");
         t.setDaemon(true);
         return t;
     });
-    private final ExecutorService summaryExecutor = Executors.newSingleThreadExecutor(r -> {
-        Thread t = new Thread(r, "live-summary");
-        t.setDaemon(true);
-        return t;
-    });
-    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
 
     private final AtomicBoolean shouldRun = new AtomicBoolean(true);
     private final AtomicBoolean loopStarted = new AtomicBoolean(false);
     private final AtomicBoolean microphoneReady = new AtomicBoolean(false);
-    private TargetDataLine microphoneLine;
+    private volatile AudioSource source;
 
-    @Value("${vosk.model-path:src/main/resources/model/vosk-model}")
-    private String modelPath;
-
-    @Value("${live.sample-rate:16000}")
-    private int sampleRate;
-
-    @Value("${live.buffer-size:4096}")
-    private int bufferSize;
+    private boolean reachedListening;
+    private volatile long restarts;
+    private volatile long lastRestartMs;
+    private volatile long lastOutageMs;
 
     @Value("${live.restart-delay-ms:3000}")
     private long restartDelayMs;
@@ -65,18 +51,20 @@ public class LiveTranscriptionService {
     @Value("${live.autostart:true}")
     private boolean autoStart;
 
-    @Value("${ollama.url:http://localhost:11434/api/generate}")
-    private String ollamaUrl;
+    @Value("${relay.upstream:}")
+    private String relayUpstream;
 
-    @Value("${ollama.model:gemma3:4b}")
-    private String ollamaModel;
-
-    @Value("${ollama.prompt:Résume très brièvement, en gardant les infos clés et sans définition : %s}")
-    private String ollamaPromptTemplate;
+    public LiveTranscriptionService(TranscriptionEngine engine, RecognizerPool recognizers, AudioSourceFactory sources) {
+        this.engine = engine;
+        this.recognizers = recognizers;
+        this.sources = sources;
+    }
 
     @PostConstruct
     public void boot() {
-        if (autoStart) {
+        session = engine.open(MICROPHONE_SESSION)
+                .orElseThrow(() -> new IllegalStateException("Impossible d'ouvrir la session micro"));
+        if (autoStart && !isRelay()) {
             startLoopIfNeeded();
         }
     }
@@ -84,23 +72,30 @@ public class LiveTranscriptionService {
     @PreDestroy
     public void shutdown() {
         shouldRun.set(false);
-        closeMicrophone();
+        closeSource();
         recognitionExecutor.shutdownNow();
-        summaryExecutor.shutdownNow();
-        emitters.forEach(SseEmitter::complete);
     }
 
-    public SseEmitter subscribe() {
+    public SseEmitter subscribe(Long lastEventId) {
+        if (isRelay()) {
+            return session.subscribe(new LiveEventPayload("status", "listening"), lastEventId);
+        }
         startLoopIfNeeded();
-        SseEmitter emitter = new SseEmitter(0L);
-        emitters.add(emitter);
-        emitter.onCompletion(() -> emitters.remove(emitter));
-        emitter.onTimeout(() -> {
-            emitter.complete();
-            emitters.remove(emitter);
-        });
-        sendSafe(emitter, new LiveEventPayload("status", microphoneReady.get() ? "listening" : "initialising"));
-        return emitter;
+        return session.subscribe(new LiveEventPayload("status", microphoneReady.get() ? "listening" : "initialising"),
+                lastEventId);
+    }
+
+    // A relay node captures nothing: its stream is fed with the events of the capture node.
+    public boolean isRelay() {
+        return !relayUpstream.isBlank();
+    }
+
+    public void relay(LiveEventPayload event) {
+        session.publish(event);
+    }
+
+    public void addEventListener(Consumer<LiveEventPayload> listener) {
+        session.addEventListener(listener);
     }
 
     private void startLoopIfNeeded() {
@@ -113,163 +108,103 @@ public class LiveTranscriptionService {
         return microphoneReady.get();
     }
 
+    // Ready once a viewer would get a live transcription: model loaded and, when capture starts by itself, listening.
+    public boolean isReady() {
+        return recognizers.modelLoaded() && (microphoneReady.get() || !autoStart);
+    }
+
+    public String sourceDescription() {
+        if (isRelay()) {
+            return "relais " + relayUpstream;
+        }
+        AudioSource current = source;
+        return current == null ? sources.type().name().toLowerCase() : current.description();
+    }
+
+    public SessionStats stats() {
+        return session.stats();
+    }
+
+    public RecognizerPoolStats recognizerPoolStats() {
+        return recognizers.stats();
+    }
+
+    public RestartStats restartStats() {
+        return new RestartStats(restarts, lastRestartMs, lastOutageMs);
+    }
+
     private void runForever() {
+        long failedAt = 0;
+        int consecutiveFailures = 0;
         while (shouldRun.get()) {
             try {
-                runLoop();
+                runLoop(failedAt);
             } catch (Exception e) {
                 LOGGER.error("Live recognition stopped unexpectedly", e);
-                broadcast(new LiveEventPayload("error", "Reconnaissance stoppée : " + e.getMessage()));
-                sleepQuietly(restartDelayMs);
+                session.publish(new LiveEventPayload("error", "Reconnaissance stoppée : " + e.getMessage()));
+                failedAt = System.nanoTime();
+                consecutiveFailures = reachedListening ? 1 : consecutiveFailures + 1;
+                if (consecutiveFailures > 1) {
+                    sleepQuietly(restartDelayMs);
+                }
             }
         }
     }
 
-    private void runLoop() throws Exception {
+    private void runLoop(long failedAt) throws Exception {
         microphoneReady.set(false);
+        reachedListening = false;
+        recognizers.prewarm();
+        long attemptStarted = System.nanoTime();
 
-        String resolvedModelPath = Paths.get(modelPath).toAbsolutePath().toString();
-        LOGGER.info("Chargement du modèle Vosk depuis {}", resolvedModelPath);
-
-        DataLine.Info info = new DataLine.Info(TargetDataLine.class, audioFormat());
-        if (!AudioSystem.isLineSupported(info)) {
-            throw new LineUnavailableException("Micro non supporté par le format " + info);
-        }
-
-        try (Model model = new Model(resolvedModelPath);
-             Recognizer recognizer = new Recognizer(model, sampleRate)) {
+        AudioCapture capture = null;
+        try {
+            source = sources.create(engine.settings().sampleRate());
+            source.open();
 
-            microphoneLine = (TargetDataLine) AudioSystem.getLine(info);
-            microphoneLine.open(audioFormat());
-            microphoneLine.start();
+            capture = new AudioCapture(source, session.ring(), session::signal);
+            capture.start();
             microphoneReady.set(true);
-            broadcast(new LiveEventPayload("status", "listening"));
-            LOGGER.info("Micro prêt, écoute en cours...");
-
-            byte[] buffer = new byte[bufferSize];
+            reachedListening = true;
+            if (failedAt != 0) {
+                long now = System.nanoTime();
+                restarts++;
+                lastRestartMs = TimeUnit.NANOSECONDS.toMillis(now - attemptStarted);
+                lastOutageMs = TimeUnit.NANOSECONDS.toMillis(now - failedAt);
+                LOGGER.info("Source audio rouverte en {} ms (interruption de {} ms)", lastRestartMs, lastOutageMs);
+            }
+            session.publish(new LiveEventPayload("status", "listening"));
+            LOGGER.info("Source audio prête ({}), écoute en cours {} ms après le lancement de la JVM",
+                    source.description(), ManagementFactory.getRuntimeMXBean().getUptime());
 
+            long capturing = System.nanoTime();
             while (shouldRun.get()) {
-                int bytesRead = microphoneLine.read(buffer, 0, buffer.length);
-                if (bytesRead <= 0) {
-                    continue;
-                }
-
-                if (recognizer.acceptWaveForm(buffer, bytesRead)) {
-                    String sentence = extractText(recognizer.getResult());
-                    if (!sentence.isBlank()) {
-                        broadcast(new LiveEventPayload("transcript-final", sentence));
-                        summaryExecutor.submit(() -> streamSummary(sentence));
-                    }
-                } else {
-                    String partial = extractText(recognizer.getPartialResult());
-                    if (!partial.isBlank()) {
-                        broadcast(new LiveEventPayload("transcript-partial", partial));
-                    }
+                capture.rethrowFailure();
+                if (capture.finished()) {
+                    long audioMs = capture.capturedBytes() / 2 * 1000 / engine.settings().sampleRate();
+                    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - capturing);
+                    LOGGER.info("Source {} terminée : {} ms d'audio lus en {} ms", source.description(), audioMs,
+                            elapsedMs);
+                    shouldRun.set(false);
+                    break;
                 }
+                Thread.sleep(100);
             }
         } finally {
             microphoneReady.set(false);
-            broadcast(new LiveEventPayload("status", "stopped"));
-            closeMicrophone();
-        }
-    }
-
-    private AudioFormat audioFormat() {
-        return new AudioFormat(sampleRate, 16, 1, true, false);
-    }
-
-    private void streamSummary(String text) {
-        broadcast(new LiveEventPayload("summary-start", text));
-        try {
-            URL url = new URL(ollamaUrl);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setDoOutput(true);
-            connection.setReadTimeout(60_000);
-
-            String prompt = String.format(ollamaPromptTemplate, text.replace("\"", "\\\""));
-            String body = """
-                    {
-                      "model": "%s",
-                      "prompt": "%s",
-                      "stream": false
-                    }
-                    """.formatted(ollamaModel, prompt);
-
-            try (OutputStream os = connection.getOutputStream()) {
-                os.write(body.getBytes());
-                os.flush();
-            }
-
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                StringBuilder sb = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    sb.append(line);
-                }
-                String summary = extractOllamaResponse(sb.toString())
-                        .replace("\\n", " ")
-                        .replace("\n", " ")
-                        .replace("\r", " ")
-                        .trim();
-                if (!summary.isEmpty()) {
-                    broadcast(new LiveEventPayload("summary-token", summary));
-                }
-            }
-
-            broadcast(new LiveEventPayload("summary-end", text));
-
-        } catch (IOException e) {
-            LOGGER.warn("Erreur Ollama : {}", e.getMessage());
-            broadcast(new LiveEventPayload("error", "Ollama indisponible : " + e.getMessage()));
-        }
-    }
-
-    private String extractOllamaResponse(String json) {
-        if (json == null || json.isBlank()) {
-            return "";
-        }
-        try {
-            JsonNode node = objectMapper.readTree(json);
-            JsonNode response = node.get("response");
-            if (response != null && response.isTextual()) {
-                return response.asText();
+            session.publish(new LiveEventPayload("status", "stopped"));
+            closeSource();
+            if (capture != null) {
+                capture.stop();
             }
-        } catch (IOException e) {
-            LOGGER.debug("Impossible de parser la réponse Ollama : {}", e.getMessage());
+            session.requestReset();
         }
-        int idx = json.indexOf("\"response\"");
-        if (idx == -1) {
-            return "";
-        }
-        String tail = json.substring(idx + 11);
-        return tail.replaceAll("^\\s*:\\s*\"", "")
-                .replaceAll("\".*", "")
-                .trim();
     }
 
-    private void broadcast(LiveEventPayload payload) {
-        emitters.removeIf(emitter -> !sendSafe(emitter, payload));
-    }
-
-    private boolean sendSafe(SseEmitter emitter, LiveEventPayload payload) {
-        try {
-            emitter.send(payload);
-            return true;
-        } catch (IOException e) {
-            emitter.completeWithError(e);
-            return false;
-        }
-    }
-
-    private void closeMicrophone() {
-        if (microphoneLine != null) {
-            try {
-                microphoneLine.stop();
-                microphoneLine.close();
-            } catch (Exception ignored) {
-            }
+    private void closeSource() {
+        AudioSource current = source;
+        if (current != null) {
+            current.close();
         }
     }
 
@@ -280,19 +215,4 @@ public class LiveTranscriptionService {
             Thread.currentThread().interrupt();
         }
     }
-
-    private static String extractText(String json) {
-        if (json == null || json.isBlank()) {
-            return "";
-        }
-        int idx = json.indexOf("\"text\"");
-        if (idx == -1) {
-            return "";
-        }
-        String cleaned = json.substring(idx + 7)
-                .replaceAll("[\":{}]", "")
-                .trim();
-        return cleaned;
-    }
 }
-
@@ -0,0 +1,4 @@
+package com.efrei.abregefrr.live;
+
+public record PartialStats(long sent, long unchanged, long throttled, long fullChars, long sentChars) {
+}
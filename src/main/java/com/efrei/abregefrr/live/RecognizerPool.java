@@ -0,0 +1,135 @@
+package com.efrei.abregefrr.live;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.vosk.Model;
+import org.vosk.Recognizer;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class RecognizerPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecognizerPool.class);
+
+    private final AtomicLong created = new AtomicLong();
+    private BlockingQueue<Recognizer> idle;
+    private volatile Model model;
+    private volatile long modelLoadMs;
+
+    @Value("${vosk.model-path:src/main/resources/model/vosk-model}")
+    private String modelPath;
+
+    @Value("${live.sample-rate:16000}")
+    private int sampleRate;
+
+    @Value("${vosk.recognizer-pool-size:2}")
+    private int poolSize;
+
+    @Value("${vosk.words:true}")
+    private boolean words;
+
+    @Value("${vosk.preload:true}")
+    private boolean preload;
+
+    @Value("${relay.upstream:}")
+    private String relayUpstream;
+
+    @PostConstruct
+    public void init() {
+        idle = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        if (preload && relayUpstream.isBlank()) {
+            // Loading the model takes longer than the rest of the context: start it now rather than on first use.
+            Thread loader = new Thread(this::preload, "vosk-preload");
+            loader.setDaemon(true);
+            loader.start();
+        }
+    }
+
+    public boolean modelLoaded() {
+        return model != null;
+    }
+
+    public Recognizer acquire() throws IOException {
+        Model loaded = model();
+        Recognizer recognizer = idle.poll();
+        if (recognizer != null) {
+            return recognizer;
+        }
+        return newRecognizer(loaded);
+    }
+
+    public void release(Recognizer recognizer) {
+        recognizer.reset();
+        if (!idle.offer(recognizer)) {
+            recognizer.close();
+        }
+    }
+
+    public void prewarm() throws IOException {
+        Model loaded = model();
+        while (idle.size() < poolSize) {
+            if (!idle.offer(newRecognizer(loaded))) {
+                break;
+            }
+        }
+    }
+
+    private Recognizer newRecognizer(Model loaded) throws IOException {
+        created.incrementAndGet();
+        Recognizer recognizer = new Recognizer(loaded, sampleRate);
+        recognizer.setWords(words);
+        return recognizer;
+    }
+
+    private void preload() {
+        try {
+            prewarm();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Préchargement du modèle Vosk impossible, nouvel essai à la capture : {}", e.getMessage());
+        }
+    }
+
+    public RecognizerPoolStats stats() {
+        return new RecognizerPoolStats(model != null, modelLoadMs, idle.size(), created.get());
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        Recognizer recognizer;
+        while ((recognizer = idle.poll()) != null) {
+            recognizer.close();
+        }
+        if (model != null) {
+            model.close();
+            model = null;
+        }
+    }
+
+    private Model model() throws IOException {
+        Model loaded = model;
+        if (loaded != null) {
+            return loaded;
+        }
+        synchronized (this) {
+            if (model == null) {
+                String resolvedModelPath = Paths.get(modelPath).toAbsolutePath().toString();
+                LOGGER.info("Chargement du modèle Vosk depuis {}", resolvedModelPath);
+                long started = System.nanoTime();
+                model = new Model(resolvedModelPath);
+                modelLoadMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                LOGGER.info("Modèle Vosk chargé en {} ms", modelLoadMs);
+            }
+            return model;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.efrei.abregefrr.live;
+
+public record RecognizerPoolStats(boolean modelLoaded, long modelLoadMs, int idle, long created) {
+}
@@ -0,0 +1,4 @@
+package com.efrei.abregefrr.live;
+
+public record RestartStats(long restarts, long lastRestartMs, long lastOutageMs) {
+}
@@ -0,0 +1,100 @@
+package com.efrei.abregefrr.live;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+@RestController
+@RequestMapping("/api/live")
+public class SessionController {
+
+    private static final Pattern SESSION_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final TranscriptionEngine engine;
+
+    public SessionController(TranscriptionEngine engine) {
+        this.engine = engine;
+    }
+
+    @GetMapping("/sessions")
+    public List<SessionStats> sessions() {
+        return engine.sessions().stream().map(TranscriptionSession::stats).toList();
+    }
+
+    @GetMapping(value = "/{session}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable("session") String sessionId,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                             @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        // Listening never creates a session: anonymous readers must not be able to fill sessions.max.
+        TranscriptionSession session = find(sessionId);
+        Long lastEventId = LiveStreamController.parseEventId(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam);
+        return session.subscribe(new LiveEventPayload("status", "listening"), lastEventId);
+    }
+
+    @PostMapping(value = "/{session}/audio", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public Map<String, Object> ingest(@PathVariable("session") String sessionId, InputStream pcm) throws IOException {
+        // The mic session's ring already has the capture thread as its single producer.
+        if (LiveTranscriptionService.MICROPHONE_SESSION.equals(sessionId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "La session micro est alimentée par la capture audio");
+        }
+        TranscriptionSession session = open(sessionId);
+        try {
+            return Map.of("session", sessionId, "bytes", session.ingest(pcm));
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Ingestion interrompue");
+        }
+    }
+
+    @PostMapping("/{session}")
+    public SessionStats create(@PathVariable("session") String sessionId) {
+        return open(sessionId).stats();
+    }
+
+    @GetMapping("/{session}/status")
+    public SessionStats status(@PathVariable("session") String sessionId) {
+        return find(sessionId).stats();
+    }
+
+    @DeleteMapping("/{session}")
+    public Map<String, Object> close(@PathVariable("session") String sessionId) {
+        if (LiveTranscriptionService.MICROPHONE_SESSION.equals(sessionId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "La session micro ne peut pas être fermée");
+        }
+        if (!engine.close(sessionId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Session inconnue : " + sessionId);
+        }
+        return Map.of("session", sessionId, "closed", true);
+    }
+
+    private TranscriptionSession find(String sessionId) {
+        return engine.find(sessionId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session inconnue : " + sessionId));
+    }
+
+    private TranscriptionSession open(String sessionId) {
+        if (!SESSION_ID.matcher(sessionId).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Identifiant de session invalide");
+        }
+        return engine.open(sessionId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Nombre maximal de sessions atteint"));
+    }
+}
@@ -0,0 +1,19 @@
+package com.efrei.abregefrr.live;
+
+import com.efrei.abregefrr.summary.SummaryOverflowPolicy;
+
+public record SessionSettings(int sampleRate,
+                              int frameSize,
+                              int ringFrames,
+                              boolean vadEnabled,
+                              double vadEnergyThreshold,
+                              double vadMaxZeroCrossingRate,
+                              long vadHangoverMs,
+                              int subscriberBuffer,
+                              SlowConsumerPolicy slowConsumerPolicy,
+                              int replayBuffer,
+                              int partialMaxRate,
+                              int summaryQueueCapacity,
+                              SummaryOverflowPolicy summaryOverflowPolicy,
+                              int summaryCoalesceMaxWords) {
+}
@@ -0,0 +1,21 @@
+package com.efrei.abregefrr.live;
+
+import com.efrei.abregefrr.audio.AudioRingStats;
+import com.efrei.abregefrr.audio.VadStats;
+import com.efrei.abregefrr.summary.SpeculationStats;
+import com.efrei.abregefrr.summary.SummaryContextStats;
+import com.efrei.abregefrr.summary.SummaryQueueStatus;
+
+public record SessionStats(String id,
+                           long audioMs,
+                           long decodeMs,
+                           double realTimeFactor,
+                           int subscribers,
+                           long droppedPartials,
+                           AudioRingStats audioRing,
+                           VadStats vad,
+                           SummaryQueueStatus summaryQueue,
+                           SummaryContextStats summaryContext,
+                           SpeculationStats speculation,
+                           PartialStats partials) {
+}
@@ -0,0 +1,6 @@
+package com.efrei.abregefrr.live;
+
+public enum SlowConsumerPolicy {
+    DROP_PARTIALS_THEN_DISCONNECT,
+    DISCONNECT
+}
@@ -0,0 +1,171 @@
+package com.efrei.abregefrr.live;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+final class SseSubscriber {
+
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private final SseEmitter emitter;
+    private final SlowConsumerPolicy policy;
+    private final Consumer<SseSubscriber> onClose;
+    private final LongConsumer sendLatency;
+
+    private final LiveEventPayload[] ring;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private int head;
+    private int size;
+    private long droppedPartials;
+    private boolean needsFullPartial = true;
+
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private volatile boolean completeOnExit;
+    private final Thread sender;
+
+    SseSubscriber(SseEmitter emitter, int capacity, SlowConsumerPolicy policy, Consumer<SseSubscriber> onClose) {
+        this(emitter, capacity, policy, onClose, nanos -> { });
+    }
+
+    SseSubscriber(SseEmitter emitter,
+                  int capacity,
+                  SlowConsumerPolicy policy,
+                  Consumer<SseSubscriber> onClose,
+                  LongConsumer sendLatency) {
+        this.emitter = emitter;
+        this.policy = policy;
+        this.onClose = onClose;
+        this.sendLatency = sendLatency;
+        this.ring = new LiveEventPayload[capacity];
+        this.sender = Thread.ofVirtual()
+                .name("sse-subscriber-" + IDS.incrementAndGet())
+                .unstarted(this::drain);
+    }
+
+    void start() {
+        sender.start();
+    }
+
+    boolean offer(LiveEventPayload payload) {
+        lock.lock();
+        try {
+            if (closed.get()) {
+                return true;
+            }
+            if (size == ring.length) {
+                if (policy == SlowConsumerPolicy.DISCONNECT || dropPartialsLocked() == 0) {
+                    return false;
+                }
+            }
+            LiveEventPayload event = payload;
+            if ("transcript-partial".equals(payload.type())) {
+                // A delta is only meaningful on top of the previous partial this subscriber received.
+                if (needsFullPartial) {
+                    event = payload.withFullText();
+                }
+                needsFullPartial = false;
+            }
+            ring[(head + size) % ring.length] = event;
+            size++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long droppedPartials() {
+        lock.lock();
+        try {
+            return droppedPartials;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Never completes the emitter here: complete() waits on the lock a send stuck on a dead socket holds,
+    // so the sender thread does it on its way out.
+    void disconnect() {
+        completeOnExit = true;
+        close();
+    }
+
+    boolean close() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        sender.interrupt();
+        onClose.accept(this);
+        return true;
+    }
+
+    private int dropPartialsLocked() {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            LiveEventPayload event = ring[(head + i) % ring.length];
+            if (!"transcript-partial".equals(event.type())) {
+                ring[(head + kept) % ring.length] = event;
+                kept++;
+            }
+        }
+        for (int i = kept; i < size; i++) {
+            ring[(head + i) % ring.length] = null;
+        }
+        int dropped = size - kept;
+        size = kept;
+        if (dropped > 0) {
+            needsFullPartial = true;
+        }
+        droppedPartials += dropped;
+        return dropped;
+    }
+
+    private void drain() {
+        Exception failure = sendLoop();
+        if (failure != null) {
+            emitter.completeWithError(failure);
+        } else if (completeOnExit) {
+            emitter.complete();
+        }
+    }
+
+    private Exception sendLoop() {
+        while (!closed.get()) {
+            LiveEventPayload next;
+            lock.lock();
+            try {
+                while (size == 0) {
+                    notEmpty.await();
+                }
+                next = ring[head];
+                ring[head] = null;
+                head = (head + 1) % ring.length;
+                size--;
+            } catch (InterruptedException e) {
+                return null;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                long started = System.nanoTime();
+                if (next.id() > 0) {
+                    emitter.send(SseEmitter.event().id(Long.toString(next.id())).data(next));
+                } else {
+                    emitter.send(next);
+                }
+                sendLatency.accept(System.nanoTime() - started);
+            } catch (IOException | IllegalStateException e) {
+                return close() ? e : null;
+            }
+        }
+        return null;
+    }
+}
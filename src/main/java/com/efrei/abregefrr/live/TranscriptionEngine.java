@@ -0,0 +1,160 @@
+package com.efrei.abregefrr.live;
+
+import com.efrei.abregefrr.journal.TranscriptLog;
+import com.efrei.abregefrr.metrics.PipelineMetrics;
+import com.efrei.abregefrr.summary.Summarizer;
+import com.efrei.abregefrr.summary.SummaryOverflowPolicy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class TranscriptionEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TranscriptionEngine.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Summarizer summarizer;
+    private final RecognizerPool recognizers;
+    private final PipelineMetrics metrics;
+    private final TranscriptLog transcriptLog;
+    private final Map<String, TranscriptionSession> sessions = new ConcurrentHashMap<>();
+
+    private ExecutorService decodePool;
+    private SessionSettings settings;
+
+    @Value("${live.sample-rate:16000}")
+    private int sampleRate;
+
+    @Value("${live.buffer-size:4096}")
+    private int bufferSize;
+
+    @Value("${live.ring-frames:64}")
+    private int ringFrames;
+
+    @Value("${vad.enabled:true}")
+    private boolean vadEnabled;
+
+    @Value("${vad.energy-threshold:300}")
+    private double vadEnergyThreshold;
+
+    @Value("${vad.max-zero-crossing-rate:0.5}")
+    private double vadMaxZeroCrossingRate;
+
+    @Value("${vad.hangover-ms:500}")
+    private long vadHangoverMs;
+
+    @Value("${live.subscriber-buffer:256}")
+    private int subscriberBuffer;
+
+    @Value("${live.slow-consumer-policy:drop-partials-then-disconnect}")
+    private SlowConsumerPolicy slowConsumerPolicy;
+
+    @Value("${live.replay-buffer:512}")
+    private int replayBuffer;
+
+    @Value("${live.partial-max-rate:8}")
+    private int partialMaxRate;
+
+    @Value("${summary.queue-capacity:8}")
+    private int summaryQueueCapacity;
+
+    @Value("${summary.overflow-policy:coalesce}")
+    private SummaryOverflowPolicy summaryOverflowPolicy;
+
+    @Value("${summary.coalesce.max-words:120}")
+    private int summaryCoalesceMaxWords;
+
+    @Value("${sessions.max:32}")
+    private int maxSessions;
+
+    @Value("${sessions.decode-threads:0}")
+    private int decodeThreads;
+
+    public TranscriptionEngine(Summarizer summarizer,
+                               RecognizerPool recognizers,
+                               PipelineMetrics metrics,
+                               TranscriptLog transcriptLog) {
+        this.summarizer = summarizer;
+        this.recognizers = recognizers;
+        this.metrics = metrics;
+        this.transcriptLog = transcriptLog;
+    }
+
+    @PostConstruct
+    public void init() {
+        settings = new SessionSettings(sampleRate, bufferSize, ringFrames, vadEnabled, vadEnergyThreshold,
+                vadMaxZeroCrossingRate, vadHangoverMs, subscriberBuffer, slowConsumerPolicy, replayBuffer,
+                partialMaxRate, summaryQueueCapacity, summaryOverflowPolicy, summaryCoalesceMaxWords);
+        int threads = decodeThreads > 0 ? decodeThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        decodePool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "live-decode-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sessions.values().forEach(TranscriptionSession::close);
+        sessions.clear();
+        decodePool.shutdownNow();
+    }
+
+    public SessionSettings settings() {
+        return settings;
+    }
+
+    public Optional<TranscriptionSession> open(String id) {
+        TranscriptionSession existing = sessions.get(id);
+        if (existing != null) {
+            return Optional.of(existing);
+        }
+        synchronized (sessions) {
+            existing = sessions.get(id);
+            if (existing != null) {
+                return Optional.of(existing);
+            }
+            if (sessions.size() >= maxSessions) {
+                return Optional.empty();
+            }
+            TranscriptionSession session = new TranscriptionSession(id, settings, recognizers, decodePool,
+                    summarizer, objectMapper, metrics, transcriptLog);
+            session.start();
+            sessions.put(id, session);
+            LOGGER.info("Session {} ouverte", id);
+            return Optional.of(session);
+        }
+    }
+
+    public Optional<TranscriptionSession> find(String id) {
+        return Optional.ofNullable(sessions.get(id));
+    }
+
+    public Collection<TranscriptionSession> sessions() {
+        return sessions.values();
+    }
+
+    public boolean close(String id) {
+        TranscriptionSession session = sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        session.close();
+        LOGGER.info("Session {} fermée", id);
+        return true;
+    }
+}
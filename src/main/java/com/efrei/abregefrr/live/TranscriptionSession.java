@@ -0,0 +1,428 @@
+package com.efrei.abregefrr.live;
+
+import com.efrei.abregefrr.audio.AudioFrameRing;
+import com.efrei.abregefrr.audio.VadStats;
+import com.efrei.abregefrr.audio.VoiceActivityDetector;
+import com.efrei.abregefrr.journal.TranscriptLog;
+import com.efrei.abregefrr.metrics.PipelineMetrics;
+import com.efrei.abregefrr.summary.Summarizer;
+import com.efrei.abregefrr.summary.SummaryContext;
+import com.efrei.abregefrr.summary.SummaryQueueStatus;
+import com.efrei.abregefrr.summary.SummaryScheduler;
+import com.efrei.abregefrr.summary.SummarySpeculator;
+import com.efrei.abregefrr.summary.SummaryTiming;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Meter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.vosk.Recognizer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+public class TranscriptionSession implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TranscriptionSession.class);
+
+    private static final int FRAMES_PER_SLICE = 8;
+
+    private final String id;
+    private final SessionSettings settings;
+    private final RecognizerPool recognizers;
+    private final Executor decodePool;
+    private final Summarizer summarizer;
+    private final ObjectMapper objectMapper;
+    private final PipelineMetrics metrics;
+    private final TranscriptLog transcriptLog;
+    private List<Meter> meters = List.of();
+
+    private final AudioFrameRing ring;
+    private final VoiceActivityDetector vad;
+    private final LiveEventDispatcher dispatcher;
+    private final SummaryScheduler summaryScheduler;
+    private final SummaryContext summaryContext;
+    private final SummarySpeculator summarySpeculator;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final AtomicBoolean ingesting = new AtomicBoolean(false);
+    private volatile boolean flushRequested;
+    private volatile boolean resetRequested;
+    private volatile boolean closed;
+    private Recognizer recognizer;
+    private final VoskResultParser results = new VoskResultParser();
+    private long fedSamples;
+    private String lastPartial = "";
+    private long lastPartialNanos;
+    private volatile long partialsSent;
+    private volatile long partialsUnchanged;
+    private volatile long partialsThrottled;
+    private volatile long partialFullChars;
+    private volatile long partialSentChars;
+    private long timeOffsetSamples;
+
+    private volatile long audioSamples;
+    private volatile long decodeNanos;
+
+    TranscriptionSession(String id,
+                         SessionSettings settings,
+                         RecognizerPool recognizers,
+                         Executor decodePool,
+                         Summarizer summarizer,
+                         ObjectMapper objectMapper,
+                         PipelineMetrics metrics,
+                         TranscriptLog transcriptLog) {
+        this.id = id;
+        this.settings = settings;
+        this.recognizers = recognizers;
+        this.decodePool = decodePool;
+        this.summarizer = summarizer;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.transcriptLog = transcriptLog;
+        this.ring = new AudioFrameRing(settings.ringFrames(), settings.frameSize());
+        this.vad = settings.vadEnabled()
+                ? new VoiceActivityDetector(settings.sampleRate(), settings.frameSize(), settings.vadEnergyThreshold(),
+                settings.vadMaxZeroCrossingRate(), settings.vadHangoverMs())
+                : null;
+        this.dispatcher = new LiveEventDispatcher(settings.subscriberBuffer(), settings.slowConsumerPolicy(),
+                settings.replayBuffer(), metrics::recordSend);
+        this.summaryContext = summarizer.newContext();
+        this.summarySpeculator = summarizer.newSpeculator(summaryContext);
+        this.summaryScheduler = new SummaryScheduler("live-summary-" + id, settings.summaryQueueCapacity(),
+                settings.summaryOverflowPolicy(), settings.summaryCoalesceMaxWords(), this::streamSummary,
+                this::publishSummaryStatus);
+    }
+
+    void start() {
+        dispatcher.start();
+        summaryScheduler.start();
+        summarizer.trackQueue(id, () -> summaryScheduler.status().depth());
+        meters = List.of(
+                metrics.sessionGauge("abrege.recognizer.rtf", id, this, TranscriptionSession::realTimeFactor),
+                metrics.sessionGauge("abrege.summary.queue.depth", id, summaryScheduler,
+                        scheduler -> scheduler.status().depth()),
+                metrics.sessionGauge("abrege.sse.subscribers", id, dispatcher,
+                        LiveEventDispatcher::subscriberCount),
+                metrics.sessionCounter("abrege.audio.overruns", id, ring, frames -> frames.stats().overruns()));
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public AudioFrameRing ring() {
+        return ring;
+    }
+
+    public SseEmitter subscribe(LiveEventPayload greeting, Long lastEventId) {
+        return dispatcher.subscribe(greeting, lastEventId);
+    }
+
+    public void publish(LiveEventPayload payload) {
+        dispatcher.publish(payload);
+    }
+
+    public void addEventListener(Consumer<LiveEventPayload> listener) {
+        dispatcher.addListener(listener);
+    }
+
+    public long ingest(InputStream pcm) throws IOException, InterruptedException {
+        if (!ingesting.compareAndSet(false, true)) {
+            throw new IllegalStateException("Un flux audio est déjà en cours pour la session " + id);
+        }
+        long total = 0;
+        try {
+            while (!closed) {
+                byte[] frame = ring.awaitClaim(1, TimeUnit.SECONDS);
+                if (frame == null) {
+                    continue;
+                }
+                int read = pcm.readNBytes(frame, 0, frame.length);
+                if (read <= 0) {
+                    break;
+                }
+                int aligned = read & ~1;
+                if (aligned > 0) {
+                    ring.publish(aligned);
+                    total += aligned;
+                    signal();
+                }
+                if (read < frame.length) {
+                    break;
+                }
+            }
+        } finally {
+            ingesting.set(false);
+            requestFlush();
+        }
+        return total;
+    }
+
+    public void signal() {
+        if (closed || !scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            decodePool.execute(this::decodeSlice);
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+        }
+    }
+
+    public void requestFlush() {
+        flushRequested = true;
+        signal();
+    }
+
+    public void requestReset() {
+        flushRequested = true;
+        resetRequested = true;
+        signal();
+    }
+
+    public double realTimeFactor() {
+        long audioMs = audioSamples * 1000 / settings.sampleRate();
+        return audioMs == 0 ? 0.0 : (double) TimeUnit.NANOSECONDS.toMillis(decodeNanos) / audioMs;
+    }
+
+    public SessionStats stats() {
+        long audioMs = audioSamples * 1000 / settings.sampleRate();
+        long decodeMs = TimeUnit.NANOSECONDS.toMillis(decodeNanos);
+        return new SessionStats(id, audioMs, decodeMs, realTimeFactor(), dispatcher.subscriberCount(),
+                dispatcher.droppedPartials(), ring.stats(), vadStats(), summaryScheduler.status(),
+                summaryContext.stats(), summarySpeculator.stats(),
+                new PartialStats(partialsSent, partialsUnchanged, partialsThrottled, partialFullChars,
+                        partialSentChars));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        metrics.remove(meters);
+        summarizer.untrackQueue(id);
+        summarySpeculator.cancel();
+        summaryScheduler.close();
+        dispatcher.close();
+        if (scheduled.compareAndSet(false, true)) {
+            releaseRecognizer();
+        }
+    }
+
+    private VadStats vadStats() {
+        return vad == null ? new VadStats(false, 0.0, 0) : vad.stats();
+    }
+
+    private void decodeSlice() {
+        try {
+            if (closed) {
+                releaseRecognizer();
+                return;
+            }
+            long started = System.nanoTime();
+            Recognizer active = recognizer();
+            for (int i = 0; i < FRAMES_PER_SLICE; i++) {
+                int slot = ring.poll();
+                if (slot < 0) {
+                    if (i == 0 && !flushRequested) {
+                        // Woken for audio that is not there.
+                        ring.recordUnderrun();
+                    }
+                    break;
+                }
+                try {
+                    int length = ring.length(slot);
+                    processFrame(active, ring.frame(slot), length);
+                    audioSamples += length / 2;
+                } finally {
+                    ring.release();
+                }
+            }
+            if (flushRequested && ring.isEmpty()) {
+                flushRequested = false;
+                publishFinal(active.getFinalResult());
+                if (resetRequested) {
+                    resetRequested = false;
+                    active.reset();
+                    fedSamples = 0;
+                    if (vad != null) {
+                        vad.reset();
+                    }
+                }
+            }
+            decodeNanos += System.nanoTime() - started;
+        } catch (Exception e) {
+            ring.clear();
+            flushRequested = false;
+            LOGGER.error("Décodage interrompu pour la session {}", id, e);
+            publish(new LiveEventPayload("error", "Reconnaissance stoppée : " + e.getMessage()));
+        } finally {
+            scheduled.set(false);
+            if (closed) {
+                if (scheduled.compareAndSet(false, true)) {
+                    releaseRecognizer();
+                }
+            } else if (!ring.isEmpty() || flushRequested) {
+                signal();
+            }
+        }
+    }
+
+    private Recognizer recognizer() throws IOException {
+        if (recognizer == null) {
+            recognizer = recognizers.acquire();
+            fedSamples = 0;
+        }
+        return recognizer;
+    }
+
+    private void releaseRecognizer() {
+        if (recognizer != null) {
+            recognizers.release(recognizer);
+            recognizer = null;
+        }
+    }
+
+    private void processFrame(Recognizer recognizer, byte[] frame, int length) {
+        if (vad == null) {
+            recognize(recognizer, frame, length, audioSamples);
+            return;
+        }
+        switch (vad.process(frame, length)) {
+            case SPEECH_START -> {
+                if (vad.prerollLength() > 0) {
+                    recognize(recognizer, vad.preroll(), vad.prerollLength(),
+                            audioSamples - vad.prerollLength() / 2);
+                }
+                recognize(recognizer, frame, length, audioSamples);
+            }
+            case SPEECH -> recognize(recognizer, frame, length, audioSamples);
+            case SPEECH_END -> publishFinal(recognizer.getFinalResult());
+            case SILENCE -> {
+            }
+        }
+    }
+
+    private void recognize(Recognizer recognizer, byte[] frame, int length, long streamSample) {
+        // Vosk times words on the audio it was fed; VAD gaps and resets shift that from the stream clock.
+        timeOffsetSamples = streamSample - fedSamples;
+        fedSamples += length / 2;
+        long started = System.nanoTime();
+        boolean complete = recognizer.acceptWaveForm(frame, length);
+        metrics.recordDecode(System.nanoTime() - started);
+        if (complete) {
+            publishFinal(recognizer.getResult());
+        } else {
+            String partial = results.partial(recognizer.getPartialResult());
+            if (!partial.isBlank()) {
+                publishPartial(partial);
+                summarySpeculator.onPartial(partial, summaryScheduler.status().depth() == 0);
+            }
+        }
+    }
+
+    private void publishPartial(String partial) {
+        if (partial.equals(lastPartial)) {
+            partialsUnchanged++;
+            return;
+        }
+        long now = System.nanoTime();
+        if (settings.partialMaxRate() > 0 && lastPartialNanos != 0
+                && now - lastPartialNanos < TimeUnit.SECONDS.toNanos(1) / settings.partialMaxRate()) {
+            partialsThrottled++;
+            return;
+        }
+        int keep = commonPrefixLength(lastPartial, partial);
+        lastPartial = partial;
+        lastPartialNanos = now;
+        partialsSent++;
+        partialFullChars += partial.length();
+        partialSentChars += partial.length() - keep;
+        publish(LiveEventPayload.partialDelta(partial, keep));
+    }
+
+    static int commonPrefixLength(String previous, String next) {
+        int limit = Math.min(previous.length(), next.length());
+        int keep = 0;
+        while (keep < limit && previous.charAt(keep) == next.charAt(keep)) {
+            keep++;
+        }
+        if (keep > 0 && keep < next.length() && Character.isHighSurrogate(next.charAt(keep - 1))) {
+            keep--;
+        }
+        return keep;
+    }
+
+    private void publishFinal(String result) {
+        String sentence = results.text(result);
+        lastPartial = "";
+        if (sentence.isBlank()) {
+            return;
+        }
+        double offsetSeconds = (double) timeOffsetSamples / settings.sampleRate();
+        publish(new LiveEventPayload("transcript-final", sentence, results.words(offsetSeconds)));
+        transcriptLog.append(id, TranscriptLog.TRANSCRIPT, sentence);
+        if (summarizer.isTrivial(sentence)) {
+            summarySpeculator.cancel();
+            return;
+        }
+        summarySpeculator.resolve(sentence);
+        if (!summaryScheduler.submit(sentence)) {
+            summarySpeculator.cancel();
+            LOGGER.debug("File de résumés pleine, phrase ignorée : {}", sentence);
+        }
+    }
+
+    private void streamSummary(String text, long enqueuedAtNanos) {
+        SummarySpeculator.Speculation speculation = summarySpeculator.take(text);
+        String model = speculation != null ? speculation.model() : summarizer.activeModel();
+        publish(LiveEventPayload.summaryStart(text, model));
+        StringBuilder summary = new StringBuilder();
+        try {
+            Consumer<String> onToken = token -> {
+                String cleaned = token.replace('\n', ' ').replace('\r', ' ');
+                if (!cleaned.isEmpty()) {
+                    if (summary.isEmpty()) {
+                        metrics.recordFirstToken(System.nanoTime() - enqueuedAtNanos);
+                    }
+                    summary.append(cleaned);
+                    publish(new LiveEventPayload("summary-token", cleaned));
+                }
+            };
+            SummaryTiming timing = speculation != null
+                    ? speculation.drain(onToken)
+                    : summarizer.summarize(text, model, summaryContext, onToken);
+            publish(new LiveEventPayload("summary-end", text));
+            publishJson("summary-timing", timing);
+            if (!summary.isEmpty()) {
+                transcriptLog.append(id, TranscriptLog.SUMMARY, summary.toString().strip());
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Erreur Ollama : {}", e.getMessage());
+            publish(new LiveEventPayload("error", "Ollama indisponible : " + e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        summarizer.recordLag(System.nanoTime() - enqueuedAtNanos);
+    }
+
+    private void publishSummaryStatus(SummaryQueueStatus status) {
+        publishJson("summary-status", status);
+    }
+
+    private void publishJson(String type, Object value) {
+        try {
+            publish(new LiveEventPayload(type, objectMapper.writeValueAsString(value)));
+        } catch (JsonProcessingException e) {
+            LOGGER.debug("Impossible de sérialiser l'événement {} : {}", type, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.efrei.abregefrr.live;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class VoskResultParser {
+
+    private static final int OTHER = 0;
+    private static final int TEXT = 1;
+    private static final int PARTIAL = 2;
+    private static final int RESULT = 3;
+    private static final int WORD = 4;
+    private static final int START = 5;
+    private static final int END = 6;
+    private static final int CONF = 7;
+
+    private final StringBuilder text = new StringBuilder(256);
+    private final StringBuilder word = new StringBuilder(32);
+    private String lastPartial = "";
+
+    private String[] words = new String[32];
+    private double[] starts = new double[32];
+    private double[] ends = new double[32];
+    private double[] confidences = new double[32];
+    private int wordCount;
+
+    private String json;
+    private int pos;
+
+    public String partial(String result) {
+        parse(result, PARTIAL);
+        if (text.isEmpty()) {
+            return "";
+        }
+        // Partials repeat while the speaker pauses: hand back the same instance instead of a copy.
+        if (!lastPartial.contentEquals(text)) {
+            lastPartial = text.toString();
+        }
+        return lastPartial;
+    }
+
+    public String text(String result) {
+        parse(result, TEXT);
+        lastPartial = "";
+        return text.isEmpty() ? "" : text.toString();
+    }
+
+    public int wordCount() {
+        return wordCount;
+    }
+
+    public List<WordTiming> words() {
+        return words(0.0);
+    }
+
+    public List<WordTiming> words(double offsetSeconds) {
+        if (wordCount == 0) {
+            return null;
+        }
+        List<WordTiming> timings = new ArrayList<>(wordCount);
+        for (int i = 0; i < wordCount; i++) {
+            timings.add(new WordTiming(words[i], starts[i] + offsetSeconds, ends[i] + offsetSeconds, confidences[i]));
+        }
+        return timings;
+    }
+
+    private void parse(String result, int wanted) {
+        text.setLength(0);
+        wordCount = 0;
+        if (result == null) {
+            return;
+        }
+        json = result;
+        pos = 0;
+        try {
+            if (!consume('{')) {
+                return;
+            }
+            while (true) {
+                skipWhitespace();
+                if (pos >= json.length() || json.charAt(pos) == '}') {
+                    return;
+                }
+                int key = readKey();
+                if (!consume(':')) {
+                    return;
+                }
+                skipWhitespace();
+                if (key == wanted) {
+                    readString(text);
+                } else if (key == RESULT && wanted == TEXT) {
+                    readWords();
+                } else {
+                    skipValue();
+                }
+                consume(',');
+            }
+        } finally {
+            json = null;
+        }
+    }
+
+    private void readWords() {
+        if (!consume('[')) {
+            skipValue();
+            return;
+        }
+        while (consume('{')) {
+            double start = 0;
+            double end = 0;
+            double conf = 0;
+            word.setLength(0);
+            while (true) {
+                skipWhitespace();
+                if (pos >= json.length() || json.charAt(pos) == '}') {
+                    pos++;
+                    break;
+                }
+                int key = readKey();
+                consume(':');
+                skipWhitespace();
+                switch (key) {
+                    case WORD -> readString(word);
+                    case START -> start = readNumber();
+                    case END -> end = readNumber();
+                    case CONF -> conf = readNumber();
+                    default -> skipValue();
+                }
+                consume(',');
+            }
+            addWord(start, end, conf);
+            consume(',');
+        }
+        consume(']');
+    }
+
+    private void addWord(double start, double end, double conf) {
+        if (wordCount == words.length) {
+            int capacity = wordCount * 2;
+            words = Arrays.copyOf(words, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            confidences = Arrays.copyOf(confidences, capacity);
+        }
+        words[wordCount] = word.toString();
+        starts[wordCount] = start;
+        ends[wordCount] = end;
+        confidences[wordCount] = conf;
+        wordCount++;
+    }
+
+    private int readKey() {
+        if (!consume('"')) {
+            pos = json.length();
+            return OTHER;
+        }
+        int begin = pos;
+        int close = json.indexOf('"', begin);
+        if (close < 0) {
+            pos = json.length();
+            return OTHER;
+        }
+        pos = close + 1;
+        int length = close - begin;
+        if (matches(begin, length, "text")) {
+            return TEXT;
+        }
+        if (matches(begin, length, "partial")) {
+            return PARTIAL;
+        }
+        if (matches(begin, length, "result")) {
+            return RESULT;
+        }
+        if (matches(begin, length, "word")) {
+            return WORD;
+        }
+        if (matches(begin, length, "start")) {
+            return START;
+        }
+        if (matches(begin, length, "end")) {
+            return END;
+        }
+        if (matches(begin, length, "conf")) {
+            return CONF;
+        }
+        return OTHER;
+    }
+
+    private boolean matches(int begin, int length, String key) {
+        return length == key.length() && json.regionMatches(begin, key, 0, length);
+    }
+
+    private void readString(StringBuilder out) {
+        if (!consume('"')) {
+            skipValue();
+            return;
+        }
+        while (pos < json.length()) {
+            char c = json.charAt(pos++);
+            if (c == '"') {
+                return;
+            }
+            if (c != '\\' || pos >= json.length()) {
+                if (out != null) {
+                    out.append(c);
+                }
+                continue;
+            }
+            char escaped = json.charAt(pos++);
+            char decoded = switch (escaped) {
+                case 'n' -> '\n';
+                case 't' -> '\t';
+                case 'r' -> '\r';
+                case 'b' -> '\b';
+                case 'f' -> '\f';
+                case 'u' -> unicode();
+                default -> escaped;
+            };
+            if (out != null) {
+                out.append(decoded);
+            }
+        }
+    }
+
+    private char unicode() {
+        if (pos + 4 > json.length()) {
+            pos = json.length();
+            return '?';
+        }
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = value * 16 + Character.digit(json.charAt(pos++), 16);
+        }
+        return (char) value;
+    }
+
+    // Parsed from the exact slice: scaling a long mantissa by a power of ten turns 0.87 into 0.8700000000000001.
+    private double readNumber() {
+        skipWhitespace();
+        int start = pos;
+        while (pos < json.length()) {
+            char c = json.charAt(pos);
+            if ((c < '0' || c > '9') && c != '-' && c != '+' && c != '.' && c != 'e' && c != 'E') {
+                break;
+            }
+            pos++;
+        }
+        try {
+            return Double.parseDouble(json.substring(start, pos));
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    private void skipValue() {
+        skipWhitespace();
+        if (pos >= json.length()) {
+            return;
+        }
+        char c = json.charAt(pos);
+        if (c == '"') {
+            readString(null);
+            return;
+        }
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            while (pos < json.length()) {
+                char next = json.charAt(pos);
+                if (next == '"') {
+                    readString(null);
+                    continue;
+                }
+                pos++;
+                if (next == '{' || next == '[') {
+                    depth++;
+                } else if ((next == '}' || next == ']') && --depth == 0) {
+                    return;
+                }
+            }
+            return;
+        }
+        while (pos < json.length() && ",}]".indexOf(json.charAt(pos)) < 0) {
+            pos++;
+        }
+    }
+
+    private boolean consume(char expected) {
+        skipWhitespace();
+        if (pos < json.length() && json.charAt(pos) == expected) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+            pos++;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.efrei.abregefrr.live;
+
+public record WordTiming(String word, double start, double end, double conf) {
+}
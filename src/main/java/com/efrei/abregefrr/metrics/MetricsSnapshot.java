@@ -0,0 +1,14 @@
+package com.efrei.abregefrr.metrics;
+
+public record MetricsSnapshot(long decodeChunks,
+                              double decodeChunkMeanMs,
+                              double decodeChunkMaxMs,
+                              long summaries,
+                              double firstTokenMeanMs,
+                              double firstTokenMaxMs,
+                              long ollamaRequests,
+                              long ollamaErrors,
+                              double ollamaMeanMs,
+                              double sseSendMeanMs,
+                              double sseSendMaxMs) {
+}
@@ -0,0 +1,96 @@
+package com.efrei.abregefrr.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+@Component
+public class PipelineMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer decodeChunks;
+    private final Timer firstToken;
+    private final Timer ollamaSuccess;
+    private final Timer ollamaFailure;
+    private final Timer sseSend;
+
+    public PipelineMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.decodeChunks = Timer.builder("abrege.decode.chunk")
+                .description("Temps de décodage Vosk d'un bloc audio, finalisation des phrases exclue")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.firstToken = Timer.builder("abrege.summary.first.token")
+                .description("Délai entre une phrase finale et le premier jeton de son résumé")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.ollamaSuccess = Timer.builder("abrege.ollama.request")
+                .description("Durée d'un appel /api/generate")
+                .tag("outcome", "success")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.ollamaFailure = Timer.builder("abrege.ollama.request")
+                .description("Durée d'un appel /api/generate")
+                .tag("outcome", "error")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.sseSend = Timer.builder("abrege.sse.send")
+                .description("Durée d'envoi d'un événement à un abonné SSE")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void recordDecode(long nanos) {
+        decodeChunks.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFirstToken(long nanos) {
+        firstToken.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordOllama(long nanos, boolean success) {
+        if (success) {
+            ollamaSuccess.record(nanos, TimeUnit.NANOSECONDS);
+        } else {
+            ollamaFailure.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void recordSend(long nanos) {
+        sseSend.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public <T> Meter sessionGauge(String name, String session, T source, ToDoubleFunction<T> value) {
+        return Gauge.builder(name, source, value).tag("session", session).register(registry);
+    }
+
+    public <T> Meter sessionCounter(String name, String session, T source, ToDoubleFunction<T> value) {
+        return FunctionCounter.builder(name, source, value).tag("session", session).register(registry);
+    }
+
+    public void remove(List<Meter> meters) {
+        meters.forEach(registry::remove);
+    }
+
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(
+                decodeChunks.count(),
+                decodeChunks.mean(TimeUnit.MILLISECONDS),
+                decodeChunks.max(TimeUnit.MILLISECONDS),
+                firstToken.count(),
+                firstToken.mean(TimeUnit.MILLISECONDS),
+                firstToken.max(TimeUnit.MILLISECONDS),
+                ollamaSuccess.count() + ollamaFailure.count(),
+                ollamaFailure.count(),
+                ollamaSuccess.mean(TimeUnit.MILLISECONDS),
+                sseSend.mean(TimeUnit.MILLISECONDS),
+                sseSend.max(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,160 @@
+package com.efrei.abregefrr.relay;
+
+import com.efrei.abregefrr.live.LiveEventPayload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.function.Consumer;
+
+// Relay side: follows the capture node, resumes after the last sequence it received when the link drops,
+// and counts the events it could not get back.
+final class RelayClient implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RelayClient.class);
+    private static final int CONNECT_TIMEOUT_MS = 5_000;
+
+    private final String host;
+    private final int port;
+    private final long heartbeatMs;
+    private final long reconnectDelayMs;
+    private final Consumer<LiveEventPayload> sink;
+
+    private final Thread reader;
+    private volatile boolean running = true;
+    private volatile Socket socket;
+    private volatile boolean connected;
+    private volatile long epoch;
+    private volatile long lastSequence;
+    private volatile long received;
+    private volatile long gaps;
+    private volatile long reconnects;
+
+    RelayClient(String host, int port, long heartbeatMs, long reconnectDelayMs, Consumer<LiveEventPayload> sink) {
+        this.host = host;
+        this.port = port;
+        this.heartbeatMs = heartbeatMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+        this.sink = sink;
+        this.reader = new Thread(this::readLoop, "relay-upstream");
+        this.reader.setDaemon(true);
+    }
+
+    void start() {
+        reader.start();
+    }
+
+    boolean connected() {
+        return connected;
+    }
+
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    long received() {
+        return received;
+    }
+
+    long gaps() {
+        return gaps;
+    }
+
+    long reconnects() {
+        return reconnects;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        reader.interrupt();
+        closeSocket();
+    }
+
+    private void readLoop() {
+        boolean first = true;
+        while (running) {
+            if (!first) {
+                reconnects++;
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            first = false;
+            try {
+                follow();
+            } catch (IOException e) {
+                if (running) {
+                    LOGGER.warn("Lien vers le nœud de capture {}:{} perdu : {}", host, port, e.getMessage());
+                }
+            } finally {
+                connected = false;
+                closeSocket();
+            }
+        }
+    }
+
+    private void follow() throws IOException {
+        Socket current = new Socket();
+        socket = current;
+        current.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+        current.setTcpNoDelay(true);
+        // Heartbeats arrive every heartbeatMs: several missing in a row means the link is dead.
+        current.setSoTimeout((int) Math.min(Integer.MAX_VALUE, Math.max(heartbeatMs * 3, 1_000)));
+        DataOutputStream out = new DataOutputStream(current.getOutputStream());
+        out.writeInt(RelayProtocol.MAGIC);
+        out.writeByte(RelayProtocol.VERSION);
+        out.writeLong(epoch);
+        out.writeLong(lastSequence);
+        out.flush();
+        DataInputStream in = new DataInputStream(new BufferedInputStream(current.getInputStream(), 64 * 1024));
+        if (in.readInt() != RelayProtocol.MAGIC || in.readByte() != RelayProtocol.VERSION) {
+            throw new IOException("Le nœud de capture ne parle pas le protocole de relais attendu");
+        }
+        long upstreamEpoch = in.readLong();
+        if (upstreamEpoch != epoch) {
+            if (epoch != 0) {
+                LOGGER.info("Le nœud de capture a redémarré, reprise depuis le début de son historique");
+            }
+            epoch = upstreamEpoch;
+            lastSequence = 0;
+        }
+        connected = true;
+        LOGGER.info("Relais branché sur {}:{} après l'événement {}", host, port, lastSequence);
+        while (running) {
+            LiveEventPayload event = RelayProtocol.read(in);
+            if (event.type() == null) {
+                continue;
+            }
+            long sequence = event.id();
+            if (lastSequence != 0 && sequence > lastSequence + 1) {
+                gaps += sequence - lastSequence - 1;
+                LOGGER.warn("{} événements perdus par le relais (hors de l'historique du nœud de capture)",
+                        sequence - lastSequence - 1);
+            }
+            if (sequence <= lastSequence) {
+                continue;
+            }
+            lastSequence = sequence;
+            received++;
+            sink.accept(event);
+        }
+    }
+
+    private void closeSocket() {
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
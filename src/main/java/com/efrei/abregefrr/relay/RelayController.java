@@ -0,0 +1,21 @@
+package com.efrei.abregefrr.relay;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/relay")
+public class RelayController {
+
+    private final RelayService relayService;
+
+    public RelayController(RelayService relayService) {
+        this.relayService = relayService;
+    }
+
+    @GetMapping("/status")
+    public RelayStats status() {
+        return relayService.stats();
+    }
+}
@@ -0,0 +1,28 @@
+package com.efrei.abregefrr.relay;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+// A relay that lost its capture node has nothing to serve: out of the load balancer until it reconnects.
+@Component
+public class RelayHealthIndicator implements HealthIndicator {
+
+    private final RelayService relayService;
+
+    public RelayHealthIndicator(RelayService relayService) {
+        this.relayService = relayService;
+    }
+
+    @Override
+    public Health health() {
+        RelayStats stats = relayService.stats();
+        if (stats.upstream() == null) {
+            return Health.up().build();
+        }
+        Health.Builder health = stats.connected() ? Health.up() : Health.outOfService();
+        return health.withDetail("upstream", stats.upstream())
+                .withDetail("lastSequence", stats.lastSequence())
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.efrei.abregefrr.relay;
+
+import com.efrei.abregefrr.live.LiveEventPayload;
+import com.efrei.abregefrr.live.WordTiming;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Handshake, relay -> capture: [int magic][byte version][long epoch][long last sequence].
+// Reply: [int magic][byte version][long epoch]. Then frames: [int length][byte kind][long sequence][body].
+// An event body is [utf type][bytes payload][byte flags] followed by the optional keep, model, full text
+// and word timings announced by the flags; a heartbeat has no body and carries the latest sequence.
+final class RelayProtocol {
+
+    static final int MAGIC = 0x4142524C;
+    static final byte VERSION = 1;
+    static final byte EVENT = 1;
+    static final byte HEARTBEAT = 2;
+    static final int MAX_FRAME = 1 << 20;
+
+    private static final int HAS_KEEP = 1;
+    private static final int HAS_MODEL = 2;
+    private static final int HAS_TEXT = 4;
+    private static final int HAS_WORDS = 8;
+
+    private RelayProtocol() {
+    }
+
+    static byte[] event(LiveEventPayload event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + event.payload().length() * 2);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(0);
+            out.writeByte(EVENT);
+            out.writeLong(event.id());
+            out.writeUTF(event.type());
+            writeString(out, event.payload());
+            int flags = (event.keep() != null ? HAS_KEEP : 0)
+                    | (event.model() != null ? HAS_MODEL : 0)
+                    | (event.text() != null ? HAS_TEXT : 0)
+                    | (event.words() != null ? HAS_WORDS : 0);
+            out.writeByte(flags);
+            if (event.keep() != null) {
+                out.writeInt(event.keep());
+            }
+            if (event.model() != null) {
+                out.writeUTF(event.model());
+            }
+            if (event.text() != null) {
+                writeString(out, event.text());
+            }
+            if (event.words() != null) {
+                out.writeInt(event.words().size());
+                for (WordTiming word : event.words()) {
+                    out.writeUTF(word.word());
+                    out.writeDouble(word.start());
+                    out.writeDouble(word.end());
+                    out.writeDouble(word.conf());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return withLength(bytes.toByteArray());
+    }
+
+    static byte[] heartbeat(long sequence) {
+        byte[] frame = new byte[4 + 1 + 8];
+        frame[4] = HEARTBEAT;
+        for (int i = 0; i < 8; i++) {
+            frame[5 + i] = (byte) (sequence >>> (56 - 8 * i));
+        }
+        return withLength(frame);
+    }
+
+    // Reads one frame: an event, or a payload of type null for a heartbeat.
+    static LiveEventPayload read(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 9 || length > MAX_FRAME) {
+            throw new IOException("Trame de relais invalide (" + length + " octets)");
+        }
+        byte[] frame = new byte[length];
+        in.readFully(frame);
+        DataInputStream body = new DataInputStream(new ByteArrayInputStream(frame));
+        byte kind = body.readByte();
+        long sequence = body.readLong();
+        if (kind == HEARTBEAT) {
+            return new LiveEventPayload(null, null, sequence);
+        }
+        if (kind != EVENT) {
+            throw new IOException("Type de trame de relais inconnu : " + kind);
+        }
+        String type = body.readUTF();
+        String payload = readString(body);
+        int flags = body.readByte();
+        Integer keep = (flags & HAS_KEEP) != 0 ? body.readInt() : null;
+        String model = (flags & HAS_MODEL) != 0 ? body.readUTF() : null;
+        String text = (flags & HAS_TEXT) != 0 ? readString(body) : null;
+        List<WordTiming> words = null;
+        if ((flags & HAS_WORDS) != 0) {
+            int count = body.readInt();
+            words = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                words.add(new WordTiming(body.readUTF(), body.readDouble(), body.readDouble(), body.readDouble()));
+            }
+        }
+        return new LiveEventPayload(type, payload, sequence, words, keep, model, text);
+    }
+
+    private static byte[] withLength(byte[] frame) {
+        int length = frame.length - 4;
+        frame[0] = (byte) (length >>> 24);
+        frame[1] = (byte) (length >>> 16);
+        frame[2] = (byte) (length >>> 8);
+        frame[3] = (byte) length;
+        return frame;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new IOException("Chaîne de relais tronquée");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,229 @@
+package com.efrei.abregefrr.relay;
+
+import com.efrei.abregefrr.live.LiveEventPayload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Capture side of the relay: every event is encoded once, kept in a backlog for relays that reconnect,
+// and queued to each connected relay. A relay that cannot keep up is dropped and resumes from the backlog.
+final class RelayServer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RelayServer.class);
+    private static final int HANDSHAKE_TIMEOUT_MS = 5_000;
+
+    private final InetSocketAddress bindAddress;
+    private final int peerBuffer;
+    private final long heartbeatMs;
+    private final long epoch = System.currentTimeMillis();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] backlogSequences;
+    private final byte[][] backlogFrames;
+    private int backlogHead;
+    private int backlogSize;
+    private volatile long lastSequence;
+    private final List<Peer> peers = new CopyOnWriteArrayList<>();
+
+    private ServerSocket serverSocket;
+    private volatile boolean running = true;
+    private volatile long published;
+    private volatile long slowPeers;
+
+    RelayServer(InetSocketAddress bindAddress, int backlog, int peerBuffer, long heartbeatMs) {
+        if (backlog < 1 || peerBuffer < 1) {
+            throw new IllegalArgumentException("backlog and peerBuffer must be >= 1");
+        }
+        this.bindAddress = bindAddress;
+        this.peerBuffer = peerBuffer;
+        this.heartbeatMs = heartbeatMs;
+        this.backlogSequences = new long[backlog];
+        this.backlogFrames = new byte[backlog][];
+    }
+
+    void start() throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(bindAddress);
+        Thread acceptor = new Thread(this::acceptLoop, "relay-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    void publish(LiveEventPayload event) {
+        byte[] frame = RelayProtocol.event(event);
+        lock.lock();
+        try {
+            int slot = (backlogHead + backlogSize) % backlogFrames.length;
+            if (backlogSize == backlogFrames.length) {
+                backlogHead = (backlogHead + 1) % backlogFrames.length;
+            } else {
+                backlogSize++;
+            }
+            backlogSequences[slot] = event.id();
+            backlogFrames[slot] = frame;
+            lastSequence = event.id();
+            published++;
+            for (Peer peer : peers) {
+                if (!peer.queue.offer(frame)) {
+                    slowPeers++;
+                    LOGGER.info("Relais {} trop lent, déconnexion", peer.name);
+                    peers.remove(peer);
+                    peer.close();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int peers() {
+        return peers.size();
+    }
+
+    long published() {
+        return published;
+    }
+
+    long slowPeers() {
+        return slowPeers;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException ignored) {
+            }
+        }
+        peers.forEach(Peer::close);
+        peers.clear();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread.ofVirtual().name("relay-peer").start(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    LOGGER.warn("Connexion de relais refusée : {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        String name = socket.getRemoteSocketAddress().toString();
+        Peer peer = null;
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(HANDSHAKE_TIMEOUT_MS);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            if (in.readInt() != RelayProtocol.MAGIC || in.readByte() != RelayProtocol.VERSION) {
+                throw new IOException("Poignée de main de relais invalide");
+            }
+            long knownEpoch = in.readLong();
+            long lastReceived = in.readLong();
+            // A relay that followed a previous run of this node starts over from the oldest backlog entry.
+            long resumeAfter = knownEpoch == epoch ? lastReceived : Long.MIN_VALUE;
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+            out.writeInt(RelayProtocol.MAGIC);
+            out.writeByte(RelayProtocol.VERSION);
+            out.writeLong(epoch);
+            out.flush();
+            peer = register(socket, name, resumeAfter);
+            LOGGER.info("Relais connecté : {} ({} événements à rattraper)", name, peer.queue.size());
+            send(peer, out);
+        } catch (IOException e) {
+            if (running && (peer == null || !peer.closed)) {
+                LOGGER.info("Relais {} déconnecté : {}", name, e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (peer != null) {
+                peers.remove(peer);
+            }
+        }
+    }
+
+    // The backlog is read and the peer registered under the publish lock: no event is missed or sent twice.
+    private Peer register(Socket socket, String name, long resumeAfter) {
+        lock.lock();
+        try {
+            List<byte[]> missed = new ArrayList<>();
+            for (int i = 0; i < backlogSize; i++) {
+                int slot = (backlogHead + i) % backlogFrames.length;
+                if (backlogSequences[slot] > resumeAfter) {
+                    missed.add(backlogFrames[slot]);
+                }
+            }
+            Peer peer = new Peer(socket, name, new ArrayBlockingQueue<>(peerBuffer + missed.size()));
+            peer.queue.addAll(missed);
+            peers.add(peer);
+            return peer;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Writes queued frames back to back and flushes once the queue runs dry; idle links get heartbeats.
+    private void send(Peer peer, OutputStream out) throws IOException, InterruptedException {
+        while (running && !peer.closed) {
+            byte[] frame = peer.queue.poll(heartbeatMs, TimeUnit.MILLISECONDS);
+            if (frame == null) {
+                out.write(RelayProtocol.heartbeat(lastSequence));
+            } else {
+                do {
+                    out.write(frame);
+                } while ((frame = peer.queue.poll()) != null);
+            }
+            out.flush();
+        }
+    }
+
+    private static final class Peer {
+
+        private final Socket socket;
+        private final String name;
+        private final BlockingQueue<byte[]> queue;
+        private volatile boolean closed;
+
+        private Peer(Socket socket, String name, BlockingQueue<byte[]> queue) {
+            this.socket = socket;
+            this.name = name;
+            this.queue = queue;
+        }
+
+        private void close() {
+            closed = true;
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.efrei.abregefrr.relay;
+
+import com.efrei.abregefrr.live.LiveTranscriptionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+
+// Either end of the relay, depending on configuration: relay.listen-port on the capture node publishes its
+// live stream, relay.upstream on a relay node follows it and serves /api/live/stream without capturing.
+@Service
+public class RelayService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RelayService.class);
+
+    private final LiveTranscriptionService transcriptionService;
+    private RelayServer server;
+    private RelayClient client;
+
+    @Value("${relay.listen-port:0}")
+    private int listenPort;
+
+    @Value("${relay.bind-address:0.0.0.0}")
+    private String bindAddress;
+
+    @Value("${relay.upstream:}")
+    private String upstream;
+
+    @Value("${relay.backlog:4096}")
+    private int backlog;
+
+    @Value("${relay.peer-buffer:4096}")
+    private int peerBuffer;
+
+    @Value("${relay.heartbeat-ms:1000}")
+    private long heartbeatMs;
+
+    @Value("${relay.reconnect-delay-ms:1000}")
+    private long reconnectDelayMs;
+
+    public RelayService(LiveTranscriptionService transcriptionService) {
+        this.transcriptionService = transcriptionService;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (listenPort > 0) {
+            if (transcriptionService.isRelay()) {
+                throw new IllegalStateException("relay.listen-port et relay.upstream sont exclusifs");
+            }
+            server = new RelayServer(new InetSocketAddress(bindAddress, listenPort), backlog, peerBuffer, heartbeatMs);
+            try {
+                server.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Port de relais " + listenPort + " indisponible", e);
+            }
+            transcriptionService.addEventListener(server::publish);
+            LOGGER.info("Flux live publié pour les relais sur le port {}", server.port());
+        }
+        if (!upstream.isBlank()) {
+            int separator = upstream.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("relay.upstream attendu sous la forme hôte:port : " + upstream);
+            }
+            client = new RelayClient(upstream.substring(0, separator),
+                    Integer.parseInt(upstream.substring(separator + 1)), heartbeatMs, reconnectDelayMs,
+                    transcriptionService::relay);
+            client.start();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (client != null) {
+            client.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    public RelayStats stats() {
+        return new RelayStats(server == null ? 0 : server.port(),
+                server == null ? 0 : server.peers(),
+                server == null ? 0 : server.published(),
+                server == null ? 0 : server.slowPeers(),
+                client == null ? null : upstream,
+                client != null && client.connected(),
+                client == null ? 0 : client.lastSequence(),
+                client == null ? 0 : client.received(),
+                client == null ? 0 : client.gaps(),
+                client == null ? 0 : client.reconnects());
+    }
+}
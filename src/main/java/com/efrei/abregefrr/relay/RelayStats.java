@@ -0,0 +1,13 @@
+package com.efrei.abregefrr.relay;
+
+public record RelayStats(int listenPort,
+                         int relays,
+                         long published,
+                         long slowRelays,
+                         String upstream,
+                         boolean connected,
+                         long lastSequence,
+                         long received,
+                         long gaps,
+                         long reconnects) {
+}
@@ -0,0 +1,71 @@
+package com.efrei.abregefrr.search;
+
+import com.efrei.abregefrr.summary.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+final class FrenchAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "au", "aux", "avec", "ce", "ces", "c", "d", "dans", "de", "des", "du", "elle", "elles", "en", "est",
+            "et", "etre", "eu", "il", "ils", "j", "je", "l", "la", "le", "les", "leur", "leurs", "lui", "m", "ma",
+            "mais", "me", "meme", "mes", "moi", "mon", "n", "ne", "ni", "nos", "notre", "nous", "on", "ont", "ou",
+            "par", "pas", "pour", "qu", "que", "qui", "s", "sa", "se", "ses", "si", "son", "sont", "sur", "t", "ta",
+            "te", "tes", "toi", "ton", "tu", "un", "une", "vos", "votre", "vous", "y", "ca", "cela", "cet", "cette",
+            "donc", "alors", "euh", "ben", "bah", "voila", "ici", "plus", "tres", "tout", "tous", "fait",
+            "faire", "va", "vais", "aussi", "comme", "quand", "ai", "as", "avons", "avez", "etait", "sera");
+
+    private FrenchAnalyzer() {
+    }
+
+    static List<String> terms(String text) {
+        String folded = TextNormalizer.normalize(text);
+        List<String> terms = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean letter = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                // Apostrophes split elisions: "l'algorithme" yields "l" (a stop word) and "algorithme".
+                String token = folded.substring(start, i);
+                if (!STOP_WORDS.contains(token)) {
+                    terms.add(stem(token));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    // Savoy's minimal French stemmer: plural and feminine marks, infinitive -r and doubled final letters.
+    static String stem(String word) {
+        int length = word.length();
+        if (length < 6) {
+            return word;
+        }
+        char[] chars = word.toCharArray();
+        if (chars[length - 1] == 'x') {
+            // "chevaux" -> "cheval", but "reseaux" -> "reseau".
+            if (chars[length - 3] == 'a' && chars[length - 2] == 'u' && chars[length - 4] != 'e') {
+                chars[length - 2] = 'l';
+            }
+            return new String(chars, 0, length - 1);
+        }
+        if (chars[length - 1] == 's') {
+            length--;
+        }
+        if (chars[length - 1] == 'r') {
+            length--;
+        }
+        if (chars[length - 1] == 'e') {
+            length--;
+        }
+        if (chars[length - 1] == chars[length - 2] && Character.isLetter(chars[length - 1])) {
+            length--;
+        }
+        return new String(chars, 0, length);
+    }
+}
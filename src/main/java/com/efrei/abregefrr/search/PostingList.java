@@ -0,0 +1,55 @@
+package com.efrei.abregefrr.search;
+
+import java.util.Arrays;
+
+// Doc ids ascending (documents are only appended), term frequencies alongside.
+final class PostingList {
+
+    private int[] docs;
+    private int[] freqs;
+    private int size;
+
+    PostingList() {
+        this(new int[4], new int[4], 0);
+    }
+
+    PostingList(int[] docs, int[] freqs, int size) {
+        this.docs = docs;
+        this.freqs = freqs;
+        this.size = size;
+    }
+
+    void add(int doc, int freq) {
+        if (size == docs.length) {
+            int capacity = size + (size >> 1) + 1;
+            docs = Arrays.copyOf(docs, capacity);
+            freqs = Arrays.copyOf(freqs, capacity);
+        }
+        docs[size] = doc;
+        freqs[size] = freq;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int index) {
+        return docs[index];
+    }
+
+    int freq(int index) {
+        return freqs[index];
+    }
+
+    // Index of doc searching from `from`, or -(insertion point) - 1: gallop then binary search, as lookups move forward.
+    int advance(int doc, int from) {
+        int bound = 1;
+        int low = from;
+        while (low + bound < size && docs[low + bound] < doc) {
+            low += bound;
+            bound <<= 1;
+        }
+        return Arrays.binarySearch(docs, low, Math.min(size, low + bound + 1), doc);
+    }
+}
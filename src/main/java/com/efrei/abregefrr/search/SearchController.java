@@ -0,0 +1,33 @@
+package com.efrei.abregefrr.search;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 200;
+
+    private final SearchIndex searchIndex;
+
+    public SearchController(SearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @GetMapping
+    public List<SearchHit> search(@RequestParam("q") String query,
+                                  @RequestParam(value = "session", required = false) String session,
+                                  @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (query.isBlank() || limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Requête ou limite invalide");
+        }
+        return searchIndex.search(query, session, Math.min(limit, MAX_LIMIT));
+    }
+}
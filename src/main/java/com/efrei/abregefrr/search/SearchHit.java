@@ -0,0 +1,4 @@
+package com.efrei.abregefrr.search;
+
+public record SearchHit(String session, long timestamp, String type, String text, double score) {
+}
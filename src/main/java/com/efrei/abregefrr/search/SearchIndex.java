@@ -0,0 +1,428 @@
+package com.efrei.abregefrr.search;
+
+import com.efrei.abregefrr.journal.TranscriptEntry;
+import com.efrei.abregefrr.journal.TranscriptLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Inverted index over the transcript log, fed by its writer thread after each batch, never by the live path.
+// Documents live in parallel primitive arrays, postings in int arrays; the whole index is snapshotted to disk
+// and caught up from the log on startup.
+@Component
+public class SearchIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndex.class);
+    private static final int SNAPSHOT_MAGIC = 0x41425358;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final TranscriptLog transcriptLog;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<String, Integer> sessionIds = new HashMap<>();
+    private final List<String> sessions = new ArrayList<>();
+    // Next log ordinal expected per session: replay and live notifications never index a record twice.
+    private long[] watermarks = new long[8];
+
+    private int documents;
+    private int[] docSessions = new int[1024];
+    private long[] docTimestamps = new long[1024];
+    private byte[] docTypes = new byte[1024];
+    private int[] docLengths = new int[1024];
+    private String[] docTexts = new String[1024];
+    private long totalLength;
+    private volatile int snapshotDocuments;
+    private Thread snapshotter;
+    private volatile boolean running = true;
+
+    @Value("${search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.snapshot-path:data/search/index.bin}")
+    private String snapshotPath;
+
+    @Value("${search.snapshot-interval-s:300}")
+    private long snapshotIntervalSeconds;
+
+    public SearchIndex(TranscriptLog transcriptLog) {
+        this.transcriptLog = transcriptLog;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        restore();
+        transcriptLog.addListener(this::add);
+        catchUp();
+        if (snapshotIntervalSeconds > 0) {
+            snapshotter = new Thread(this::snapshotLoop, "search-snapshot");
+            snapshotter.setDaemon(true);
+            snapshotter.start();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (snapshotter != null) {
+            LockSupport.unpark(snapshotter);
+        }
+        if (enabled) {
+            snapshotIfDirty();
+        }
+    }
+
+    public void add(String session, long ordinal, TranscriptEntry entry) {
+        byte type = switch (entry.type()) {
+            case TranscriptLog.TRANSCRIPT -> 0;
+            case TranscriptLog.SUMMARY -> 1;
+            default -> -1;
+        };
+        if (type < 0) {
+            return;
+        }
+        List<String> terms = FrenchAnalyzer.terms(entry.text());
+        lock.writeLock().lock();
+        try {
+            int sessionId = sessionId(session);
+            if (ordinal < watermarks[sessionId]) {
+                return;
+            }
+            watermarks[sessionId] = ordinal + 1;
+            if (terms.isEmpty()) {
+                return;
+            }
+            int doc = addDocument(sessionId, entry.timestamp(), type, terms.size(), entry.text());
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String term : terms) {
+                frequencies.merge(term, 1, Integer::sum);
+            }
+            for (Map.Entry<String, Integer> term : frequencies.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), t -> new PostingList()).add(doc, term.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Every query term must match; hits are ranked by BM25, most recent first on ties.
+    public List<SearchHit> search(String query, String session, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(FrenchAnalyzer.terms(query)));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int sessionFilter = -1;
+            if (session != null) {
+                Integer id = sessionIds.get(session);
+                if (id == null) {
+                    return List.of();
+                }
+                sessionFilter = id;
+            }
+            PostingList[] lists = new PostingList[terms.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = postings.get(terms.get(i));
+                if (lists[i] == null) {
+                    return List.of();
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+            double[] idf = new double[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                idf[i] = Math.log(1 + (documents - lists[i].size() + 0.5) / (lists[i].size() + 0.5));
+            }
+            double averageLength = (double) totalLength / documents;
+            int[] cursors = new int[lists.length];
+            PriorityQueue<ScoredDoc> top = new PriorityQueue<>(limit + 1, ScoredDoc.ORDER);
+            PostingList rarest = lists[0];
+            candidates:
+            for (int p = 0; p < rarest.size(); p++) {
+                int doc = rarest.doc(p);
+                if (sessionFilter >= 0 && docSessions[doc] != sessionFilter) {
+                    continue;
+                }
+                double norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                double score = idf[0] * tf(rarest.freq(p), norm);
+                for (int i = 1; i < lists.length; i++) {
+                    int found = lists[i].advance(doc, cursors[i]);
+                    if (found < 0) {
+                        cursors[i] = -found - 1;
+                        if (cursors[i] >= lists[i].size()) {
+                            break candidates;
+                        }
+                        continue candidates;
+                    }
+                    cursors[i] = found;
+                    score += idf[i] * tf(lists[i].freq(found), norm);
+                }
+                top.add(new ScoredDoc(doc, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<SearchHit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ScoredDoc scored = top.poll();
+                int doc = scored.doc();
+                hits.add(new SearchHit(sessions.get(docSessions[doc]), docTimestamps[doc],
+                        docTypes[doc] == 0 ? TranscriptLog.TRANSCRIPT : TranscriptLog.SUMMARY,
+                        docTexts[doc], scored.score()));
+            }
+            return hits.reversed();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documents() {
+        lock.readLock().lock();
+        try {
+            return documents;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int terms() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void snapshot(Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "index", ".tmp");
+        try {
+            lock.readLock().lock();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(sessions.size());
+                for (int i = 0; i < sessions.size(); i++) {
+                    out.writeUTF(sessions.get(i));
+                    out.writeLong(watermarks[i]);
+                }
+                out.writeInt(documents);
+                for (int doc = 0; doc < documents; doc++) {
+                    byte[] text = docTexts[doc].getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(docSessions[doc]);
+                    out.writeLong(docTimestamps[doc]);
+                    out.writeByte(docTypes[doc]);
+                    out.writeInt(docLengths[doc]);
+                    out.writeInt(text.length);
+                    out.write(text);
+                }
+                out.writeInt(postings.size());
+                for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+                    PostingList list = entry.getValue();
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(list.size());
+                    for (int i = 0; i < list.size(); i++) {
+                        out.writeInt(list.doc(i));
+                        out.writeInt(list.freq(i));
+                    }
+                }
+                snapshotDocuments = documents;
+            } finally {
+                lock.readLock().unlock();
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    void restore(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Format d'index inconnu");
+            }
+            lock.writeLock().lock();
+            try {
+                int sessionCount = in.readInt();
+                for (int i = 0; i < sessionCount; i++) {
+                    int id = sessionId(in.readUTF());
+                    watermarks[id] = in.readLong();
+                }
+                int documentCount = in.readInt();
+                for (int doc = 0; doc < documentCount; doc++) {
+                    int session = in.readInt();
+                    long timestamp = in.readLong();
+                    byte type = in.readByte();
+                    int length = in.readInt();
+                    byte[] text = new byte[in.readInt()];
+                    in.readFully(text);
+                    addDocument(session, timestamp, type, length, new String(text, StandardCharsets.UTF_8));
+                }
+                int termCount = in.readInt();
+                for (int t = 0; t < termCount; t++) {
+                    String term = in.readUTF();
+                    int size = in.readInt();
+                    int[] docs = new int[size];
+                    int[] freqs = new int[size];
+                    for (int i = 0; i < size; i++) {
+                        docs[i] = in.readInt();
+                        freqs[i] = in.readInt();
+                    }
+                    postings.put(term, new PostingList(docs, freqs, size));
+                }
+                snapshotDocuments = documents;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void restore() {
+        Path path = Path.of(snapshotPath);
+        if (!Files.exists(path)) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            restore(path);
+            LOGGER.info("Index de recherche restauré : {} documents, {} termes en {} ms", documents(), terms(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Instantané de l'index illisible, reconstruction depuis le journal : {}", e.getMessage());
+            clear();
+        }
+    }
+
+    // Holds the write lock across the whole replay: records the writer thread appends meanwhile are either
+    // replayed here or notified once it is released, and the watermarks drop whichever comes second.
+    private void catchUp() {
+        int before = documents();
+        lock.writeLock().lock();
+        try {
+            for (String session : transcriptLog.sessions()) {
+                int id = sessionId(session);
+                transcriptLog.replay(session, watermarks[id], this::add);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Rattrapage de l'index de recherche depuis le journal impossible", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        int caughtUp = documents() - before;
+        if (caughtUp > 0) {
+            LOGGER.info("Index de recherche rattrapé depuis le journal : {} documents", caughtUp);
+        }
+    }
+
+    private void snapshotLoop() {
+        long interval = TimeUnit.SECONDS.toNanos(snapshotIntervalSeconds);
+        while (running) {
+            LockSupport.parkNanos(this, interval);
+            if (running) {
+                snapshotIfDirty();
+            }
+        }
+    }
+
+    private void snapshotIfDirty() {
+        if (documents() == snapshotDocuments) {
+            return;
+        }
+        try {
+            snapshot(Path.of(snapshotPath));
+        } catch (IOException e) {
+            LOGGER.error("Écriture de l'instantané de l'index impossible", e);
+        }
+    }
+
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            sessionIds.clear();
+            sessions.clear();
+            Arrays.fill(watermarks, 0);
+            Arrays.fill(docTexts, 0, documents, null);
+            documents = 0;
+            totalLength = 0;
+            snapshotDocuments = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int sessionId(String session) {
+        Integer id = sessionIds.get(session);
+        if (id != null) {
+            return id;
+        }
+        int created = sessions.size();
+        sessions.add(session);
+        sessionIds.put(session, created);
+        if (created == watermarks.length) {
+            watermarks = Arrays.copyOf(watermarks, created * 2);
+        }
+        return created;
+    }
+
+    private int addDocument(int session, long timestamp, byte type, int length, String text) {
+        if (documents == docTexts.length) {
+            int capacity = documents + (documents >> 1);
+            docSessions = Arrays.copyOf(docSessions, capacity);
+            docTimestamps = Arrays.copyOf(docTimestamps, capacity);
+            docTypes = Arrays.copyOf(docTypes, capacity);
+            docLengths = Arrays.copyOf(docLengths, capacity);
+            docTexts = Arrays.copyOf(docTexts, capacity);
+        }
+        int doc = documents++;
+        docSessions[doc] = session;
+        docTimestamps[doc] = timestamp;
+        docTypes[doc] = type;
+        docLengths[doc] = length;
+        docTexts[doc] = text;
+        totalLength += length;
+        return doc;
+    }
+
+    private static double tf(int frequency, double norm) {
+        return frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    private record ScoredDoc(int doc, double score) {
+
+        // Min-heap on score; among equal scores the older document is evicted first.
+        static final Comparator<ScoredDoc> ORDER =
+                Comparator.comparingDouble(ScoredDoc::score).thenComparingInt(ScoredDoc::doc);
+    }
+}
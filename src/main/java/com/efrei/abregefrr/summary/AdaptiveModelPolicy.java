@@ -0,0 +1,115 @@
+package com.efrei.abregefrr.summary;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Steps down an ordered list of models (best first) when summaries lag or queue up, and back up only once load
+// has stayed low for a while: lower "down" thresholds, a minimum dwell between switches and a calm period
+// keep it from flapping around a single threshold.
+final class AdaptiveModelPolicy {
+
+    private static final double EWMA_ALPHA = 0.3;
+
+    private final List<String> models;
+    private final long upLagMs;
+    private final long downLagMs;
+    private final int upQueueDepth;
+    private final int downQueueDepth;
+    private final long dwellNanos;
+    private final long calmNanos;
+
+    private int level;
+    // Lowest rung still worth trying: models Ollama reported missing are cut off below it.
+    private int lowest;
+    private double ewmaLagMs;
+    private boolean measured;
+    private int queueDepth;
+    private boolean switched;
+    private long switchedAt;
+    private boolean calm;
+    private long calmSince;
+    private long downgrades;
+    private long upgrades;
+
+    AdaptiveModelPolicy(List<String> models,
+                        long upLagMs,
+                        long downLagMs,
+                        int upQueueDepth,
+                        int downQueueDepth,
+                        long dwellMs,
+                        long calmMs) {
+        if (models.isEmpty()) {
+            throw new IllegalArgumentException("Au moins un modèle est nécessaire");
+        }
+        if (downLagMs > upLagMs || downQueueDepth > upQueueDepth) {
+            throw new IllegalArgumentException("Les seuils de remontée doivent être sous les seuils de bascule");
+        }
+        this.models = List.copyOf(models);
+        this.upLagMs = upLagMs;
+        this.downLagMs = downLagMs;
+        this.upQueueDepth = upQueueDepth;
+        this.downQueueDepth = downQueueDepth;
+        this.dwellNanos = TimeUnit.MILLISECONDS.toNanos(dwellMs);
+        this.calmNanos = TimeUnit.MILLISECONDS.toNanos(calmMs);
+        this.lowest = this.models.size() - 1;
+    }
+
+    synchronized String active() {
+        return models.get(level);
+    }
+
+    // Returns the newly selected model, or null when it stays the same.
+    synchronized String observe(long lagMs, int depth, long now) {
+        ewmaLagMs = measured ? EWMA_ALPHA * lagMs + (1 - EWMA_ALPHA) * ewmaLagMs : lagMs;
+        measured = true;
+        queueDepth = depth;
+        boolean overloaded = ewmaLagMs > upLagMs || depth >= upQueueDepth;
+        if (ewmaLagMs >= downLagMs || depth > downQueueDepth) {
+            calm = false;
+        } else if (!calm) {
+            calm = true;
+            calmSince = now;
+        }
+        if (switched && now - switchedAt < dwellNanos) {
+            return null;
+        }
+        if (overloaded && level < lowest) {
+            downgrades++;
+            return switchTo(level + 1, now);
+        }
+        if (calm && level > 0 && now - calmSince >= calmNanos) {
+            upgrades++;
+            return switchTo(level - 1, now);
+        }
+        return null;
+    }
+
+    // Ollama does not have this model: never step down to it again and climb back above it if it is active.
+    synchronized String missing(String model, long now) {
+        int index = models.indexOf(model);
+        if (index <= 0 || index > lowest) {
+            return null;
+        }
+        lowest = index - 1;
+        if (level <= lowest) {
+            return null;
+        }
+        upgrades++;
+        return switchTo(lowest, now);
+    }
+
+    private String switchTo(int target, long now) {
+        level = target;
+        switched = true;
+        switchedAt = now;
+        calm = false;
+        // The lag measured on the previous model says little about the new one.
+        measured = false;
+        return models.get(level);
+    }
+
+    synchronized ModelPolicyStats stats() {
+        return new ModelPolicyStats(models, models.get(level), Math.round(ewmaLagMs), queueDepth, downgrades,
+                upgrades);
+    }
+}
@@ -0,0 +1,11 @@
+package com.efrei.abregefrr.summary;
+
+import java.util.List;
+
+public record ModelPolicyStats(List<String> models,
+                               String active,
+                               long ewmaLagMs,
+                               int queueDepth,
+                               long downgrades,
+                               long upgrades) {
+}
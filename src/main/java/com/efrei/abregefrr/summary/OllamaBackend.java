@@ -0,0 +1,106 @@
+package com.efrei.abregefrr.summary;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+final class OllamaBackend {
+
+    private static final double EWMA_ALPHA = 0.3;
+
+    private final URI uri;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final long failurePenaltyNanos;
+
+    private int inFlight;
+    private double ewmaFirstTokenMs;
+    private int consecutiveFailures;
+    private long openUntilNanos;
+    private boolean open;
+    private boolean trialInFlight;
+    private long requests;
+    private long failures;
+    private long hedges;
+    private long cancelled;
+
+    OllamaBackend(URI uri, int failureThreshold, long openMs, long failurePenaltyMs) {
+        this.uri = uri;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMs);
+        this.failurePenaltyNanos = TimeUnit.MILLISECONDS.toNanos(failurePenaltyMs);
+    }
+
+    URI uri() {
+        return uri;
+    }
+
+    synchronized boolean available(long now) {
+        return !open || (now >= openUntilNanos && !trialInFlight);
+    }
+
+    // Unknown backends score best so each one gets probed once.
+    synchronized double score() {
+        return Math.max(ewmaFirstTokenMs, 1.0) * (inFlight + 1);
+    }
+
+    synchronized boolean tryAcquire(long now, boolean hedge) {
+        if (!available(now)) {
+            return false;
+        }
+        if (open) {
+            // Half-open: a single trial request decides whether the circuit closes again.
+            trialInFlight = true;
+        }
+        inFlight++;
+        requests++;
+        if (hedge) {
+            hedges++;
+        }
+        return true;
+    }
+
+    synchronized void firstToken(long elapsedNanos) {
+        observe(elapsedNanos);
+    }
+
+    synchronized void succeeded() {
+        inFlight--;
+        consecutiveFailures = 0;
+        open = false;
+        trialInFlight = false;
+    }
+
+    // A failure weighs like a first token at the timeout, so a backend that never answers stops ranking first.
+    synchronized void failed(long now) {
+        inFlight--;
+        failures++;
+        observe(failurePenaltyNanos);
+        consecutiveFailures++;
+        if (trialInFlight || consecutiveFailures >= failureThreshold) {
+            open = true;
+            openUntilNanos = now + openNanos;
+        }
+        trialInFlight = false;
+    }
+
+    // Lost a hedge race or the caller gave up: no verdict on health, but a slow start still counts.
+    synchronized void abandoned(long elapsedNanos, boolean sawToken) {
+        inFlight--;
+        cancelled++;
+        trialInFlight = false;
+        if (!sawToken) {
+            observe(elapsedNanos);
+        }
+    }
+
+    synchronized OllamaBackendStats stats(long now) {
+        String circuit = !open ? "closed" : now >= openUntilNanos ? "half-open" : "open";
+        return new OllamaBackendStats(uri.toString(), circuit, inFlight, Math.round(ewmaFirstTokenMs), requests,
+                failures, hedges, cancelled);
+    }
+
+    private void observe(long elapsedNanos) {
+        double ms = elapsedNanos / 1e6;
+        ewmaFirstTokenMs = ewmaFirstTokenMs == 0 ? ms : EWMA_ALPHA * ms + (1 - EWMA_ALPHA) * ewmaFirstTokenMs;
+    }
+}
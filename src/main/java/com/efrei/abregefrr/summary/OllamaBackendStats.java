@@ -0,0 +1,11 @@
+package com.efrei.abregefrr.summary;
+
+public record OllamaBackendStats(String url,
+                                 String circuit,
+                                 int inFlight,
+                                 long ewmaFirstTokenMs,
+                                 long requests,
+                                 long failures,
+                                 long hedges,
+                                 long cancelled) {
+}
@@ -0,0 +1,442 @@
+package com.efrei.abregefrr.summary;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+@Component
+public class OllamaClient {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private HttpClient httpClient;
+    private List<OllamaBackend> backends;
+    // KV contexts are keyed by identity: a session's follow-up goes back to the backend holding its cache.
+    private final Map<int[], OllamaBackend> affinity = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Value("${ollama.url:http://localhost:11434/api/generate}")
+    private String ollamaUrl;
+
+    @Value("${ollama.urls:}")
+    private String[] ollamaUrls;
+
+    @Value("${ollama.model:gemma3:4b}")
+    private String ollamaModel;
+
+    @Value("${ollama.prompt:Résume très brièvement, en gardant les infos clés et sans définition : %s}")
+    private String ollamaPromptTemplate;
+
+    @Value("${ollama.context-prompt:Contexte précédent (résumés), seulement pour comprendre la suite : %s}")
+    private String ollamaContextTemplate;
+
+    @Value("${ollama.follow-up-prompt:Même consigne pour la phrase suivante : %s}")
+    private String ollamaFollowUpTemplate;
+
+    @Value("${ollama.keep-alive:30m}")
+    private String ollamaKeepAlive;
+
+    @Value("${ollama.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${ollama.first-byte-timeout-ms:60000}")
+    private long firstByteTimeoutMs;
+
+    @Value("${ollama.idle-timeout-ms:60000}")
+    private long idleTimeoutMs;
+
+    @Value("${ollama.hedge-after-ms:0}")
+    private long hedgeAfterMs;
+
+    @Value("${ollama.circuit.failure-threshold:3}")
+    private int circuitFailureThreshold;
+
+    @Value("${ollama.circuit.open-ms:15000}")
+    private long circuitOpenMs;
+
+    @PostConstruct
+    public void init() {
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        List<OllamaBackend> configured = new ArrayList<>();
+        for (String url : ollamaUrls) {
+            if (!url.isBlank()) {
+                configured.add(new OllamaBackend(URI.create(url.trim()), circuitFailureThreshold, circuitOpenMs,
+                        firstByteTimeoutMs));
+            }
+        }
+        if (configured.isEmpty() && !ollamaUrl.isBlank()) {
+            configured.add(new OllamaBackend(URI.create(ollamaUrl.trim()), circuitFailureThreshold, circuitOpenMs,
+                    firstByteTimeoutMs));
+        }
+        if (configured.isEmpty()) {
+            throw new IllegalStateException("Aucune URL Ollama configurée (ollama.url ou ollama.urls)");
+        }
+        backends = List.copyOf(configured);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        httpClient.shutdownNow();
+    }
+
+    public String model() {
+        return ollamaModel;
+    }
+
+    public String promptTemplate() {
+        return ollamaPromptTemplate;
+    }
+
+    public String prompt(String text, String context) {
+        String prompt = String.format(ollamaPromptTemplate, text);
+        if (!context.isBlank()) {
+            prompt = String.format(ollamaContextTemplate, context) + "\n\n" + prompt;
+        }
+        return prompt;
+    }
+
+    public String followUpPrompt(String text) {
+        return String.format(ollamaFollowUpTemplate, text);
+    }
+
+    public OllamaGeneration generate(String prompt, Consumer<String> onToken) throws IOException, InterruptedException {
+        return generate(prompt, null, onToken);
+    }
+
+    public OllamaGeneration generate(String prompt, int[] context, Consumer<String> onToken)
+            throws IOException, InterruptedException {
+        return generate(ollamaModel, prompt, context, onToken);
+    }
+
+    public OllamaGeneration generate(String model, String prompt, int[] context, Consumer<String> onToken)
+            throws IOException, InterruptedException {
+        byte[] body = requestBody(model, prompt, context);
+        OllamaBackend preferred = context == null ? null : affinity.get(context);
+        BlockingQueue<StreamEvent> events = new LinkedBlockingQueue<>();
+        List<Attempt> attempts = new ArrayList<>();
+        List<OllamaBackend> tried = new ArrayList<>();
+        try {
+            if (launch(body, preferred, tried, attempts, events, false) == null) {
+                throw new IOException("Aucun backend Ollama disponible (circuits ouverts)");
+            }
+            long hedgeAt = hedgeAfterMs > 0 && backends.size() > 1
+                    ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(hedgeAfterMs)
+                    : Long.MAX_VALUE;
+            // The request timeout stops at the headers: a body that stalls is bounded by this deadline instead.
+            long idleAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(firstByteTimeoutMs);
+            Attempt winner = null;
+            IOException failure = null;
+            while (true) {
+                long deadline = winner == null ? Math.min(hedgeAt, idleAt) : idleAt;
+                StreamEvent event = events.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (event == null) {
+                    if (winner == null && hedgeAt <= idleAt) {
+                        // No token within the deadline: race a second backend, the first to answer wins.
+                        hedgeAt = Long.MAX_VALUE;
+                        launch(body, null, tried, attempts, events, true);
+                        continue;
+                    }
+                    IOException stalled = new IOException("Ollama ne répond plus ("
+                            + (winner == null ? firstByteTimeoutMs : idleTimeoutMs) + " ms sans jeton)");
+                    if (winner != null) {
+                        winner.stall();
+                        throw stalled;
+                    }
+                    for (Attempt attempt : attempts) {
+                        attempt.stall();
+                    }
+                    if (launch(body, null, tried, attempts, events, false) == null) {
+                        throw stalled;
+                    }
+                    idleAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(firstByteTimeoutMs);
+                    continue;
+                }
+                Attempt attempt = event.attempt();
+                if (attempt.cancelled) {
+                    continue;
+                }
+                if (winner == null) {
+                    if (event.line() == null) {
+                        // Failed before streaming anything: fail over while other backends remain.
+                        failure = event.error() != null ? event.error() : new IOException("Réponse Ollama vide");
+                        attempt.cancel();
+                        if (attempts.stream().noneMatch(a -> !a.cancelled)) {
+                            if (launch(body, null, tried, attempts, events, false) == null) {
+                                throw failure;
+                            }
+                            idleAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(firstByteTimeoutMs);
+                        }
+                        continue;
+                    }
+                    winner = attempt;
+                    for (Attempt other : attempts) {
+                        if (other != winner) {
+                            other.cancel();
+                        }
+                    }
+                }
+                if (event.error() != null) {
+                    throw event.error();
+                }
+                if (event.line() == null) {
+                    throw new IOException("Réponse Ollama incomplète");
+                }
+                idleAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+                OllamaGeneration generation = readLine(event.line(), onToken);
+                if (generation != null) {
+                    winner.complete();
+                    if (generation.context() != null) {
+                        affinity.put(generation.context(), winner.backend);
+                    }
+                    return generation;
+                }
+            }
+        } finally {
+            for (Attempt attempt : attempts) {
+                attempt.cancel();
+            }
+        }
+    }
+
+    public List<OllamaBackendStats> backends() {
+        long now = System.nanoTime();
+        return backends.stream().map(backend -> backend.stats(now)).toList();
+    }
+
+    public OllamaGeneration readLine(String line, Consumer<String> onToken) throws IOException {
+        if (line.isBlank()) {
+            return null;
+        }
+        JsonNode chunk = objectMapper.readTree(line);
+        JsonNode error = chunk.get("error");
+        if (error != null) {
+            throw new IOException(error.asText());
+        }
+        JsonNode token = chunk.get("response");
+        if (token != null && token.isTextual() && !token.asText().isEmpty()) {
+            onToken.accept(token.asText());
+        }
+        return chunk.path("done").asBoolean(false) ? generation(chunk) : null;
+    }
+
+    private Attempt launch(byte[] body,
+                           OllamaBackend preferred,
+                           List<OllamaBackend> tried,
+                           List<Attempt> attempts,
+                           BlockingQueue<StreamEvent> events,
+                           boolean hedge) {
+        long now = System.nanoTime();
+        List<OllamaBackend> candidates = new ArrayList<>();
+        for (OllamaBackend backend : backends) {
+            if (!tried.contains(backend) && backend.available(now)) {
+                candidates.add(backend);
+            }
+        }
+        if (preferred != null && candidates.remove(preferred)) {
+            candidates.addFirst(preferred);
+        } else {
+            candidates.sort((a, b) -> Double.compare(a.score(), b.score()));
+        }
+        for (OllamaBackend backend : candidates) {
+            tried.add(backend);
+            if (backend.tryAcquire(now, hedge)) {
+                Attempt attempt = new Attempt(backend, body, events);
+                attempts.add(attempt);
+                attempt.thread = Thread.ofVirtual().name("ollama-request").start(attempt);
+                return attempt;
+            }
+        }
+        return null;
+    }
+
+    private static OllamaGeneration generation(JsonNode done) {
+        JsonNode contextNode = done.get("context");
+        int[] context = null;
+        if (contextNode != null && contextNode.isArray()) {
+            context = new int[contextNode.size()];
+            for (int i = 0; i < context.length; i++) {
+                context[i] = contextNode.get(i).asInt();
+            }
+        }
+        return new OllamaGeneration(context,
+                done.path("prompt_eval_count").asInt(0),
+                TimeUnit.NANOSECONDS.toMillis(done.path("prompt_eval_duration").asLong(0)),
+                done.path("eval_count").asInt(0),
+                TimeUnit.NANOSECONDS.toMillis(done.path("eval_duration").asLong(0)));
+    }
+
+    private byte[] requestBody(String model, String prompt, int[] context) throws IOException {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("model", model);
+        body.put("prompt", prompt);
+        body.put("stream", true);
+        body.put("keep_alive", ollamaKeepAlive);
+        if (context != null) {
+            ArrayNode tokens = body.putArray("context");
+            for (int token : context) {
+                tokens.add(token);
+            }
+        }
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    // Ollama answers 404 with a JSON error when the model was never pulled; a wrong URL gets a plain page.
+    private String errorMessage(BufferedReader reader) {
+        try {
+            String line = reader.readLine();
+            JsonNode error = line == null ? null : objectMapper.readTree(line).get("error");
+            return error != null && error.isTextual() ? error.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public static final class ModelNotFoundException extends IOException {
+
+        ModelNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    private record StreamEvent(Attempt attempt, String line, IOException error) {
+    }
+
+    private final class Attempt implements Runnable {
+
+        private final OllamaBackend backend;
+        private final byte[] body;
+        private final BlockingQueue<StreamEvent> events;
+        private final long started = System.nanoTime();
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private volatile Thread thread;
+        private volatile InputStream stream;
+        private volatile boolean cancelled;
+        private boolean sawLine;
+
+        private Attempt(OllamaBackend backend, byte[] body, BlockingQueue<StreamEvent> events) {
+            this.backend = backend;
+            this.body = body;
+            this.events = events;
+        }
+
+        @Override
+        public void run() {
+            HttpRequest request = HttpRequest.newBuilder(backend.uri())
+                    .timeout(Duration.ofMillis(firstByteTimeoutMs))
+                    .header("Content-Type", "application/json; charset=UTF-8")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            try {
+                HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                stream = response.body();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                    if (response.statusCode() != 200) {
+                        String error = errorMessage(reader);
+                        if (response.statusCode() == 404 && error != null) {
+                            throw new ModelNotFoundException(error + " (" + backend.uri().getHost() + ")");
+                        }
+                        throw new IOException("HTTP " + response.statusCode() + " (" + backend.uri().getHost() + ")");
+                    }
+                    String line;
+                    while ((line = reader.readLine()) != null && !cancelled) {
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        if (!sawLine) {
+                            sawLine = true;
+                            backend.firstToken(System.nanoTime() - started);
+                        }
+                        events.add(new StreamEvent(this, line, null));
+                    }
+                }
+                finish(null);
+            } catch (IOException e) {
+                finish(e);
+            } catch (InterruptedException e) {
+                finish(new IOException("Requête Ollama interrompue"));
+            }
+        }
+
+        private void finish(IOException error) {
+            if (cancelled) {
+                if (settled.compareAndSet(false, true)) {
+                    backend.abandoned(System.nanoTime() - started, sawLine);
+                }
+                return;
+            }
+            if (settled.compareAndSet(false, true)) {
+                // A missing model is the request's fault: the backend itself answered properly.
+                if (error == null || error instanceof ModelNotFoundException) {
+                    backend.succeeded();
+                } else {
+                    backend.failed(System.nanoTime());
+                }
+            }
+            events.add(new StreamEvent(this, null, error));
+        }
+
+        // The caller read the final chunk: the backend delivered, whatever happens to the rest of the stream.
+        private void complete() {
+            if (settled.compareAndSet(false, true)) {
+                backend.succeeded();
+            }
+        }
+
+        // Went silent past the deadline: a failure for the circuit, not a neutral cancellation.
+        private void stall() {
+            if (cancelled) {
+                return;
+            }
+            if (settled.compareAndSet(false, true)) {
+                backend.failed(System.nanoTime());
+            }
+            cancel();
+        }
+
+        private void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            Thread current = thread;
+            if (current != null) {
+                current.interrupt();
+            }
+            InputStream body = stream;
+            if (body != null) {
+                try {
+                    body.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.efrei.abregefrr.summary;
+
+public record OllamaGeneration(int[] context,
+                               int promptTokens,
+                               long prefillMs,
+                               int generatedTokens,
+                               long generationMs) {
+}
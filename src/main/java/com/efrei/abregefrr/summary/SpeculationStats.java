@@ -0,0 +1,11 @@
+package com.efrei.abregefrr.summary;
+
+public record SpeculationStats(boolean enabled,
+                               long started,
+                               long hits,
+                               long misses,
+                               long discarded,
+                               double hitRate,
+                               long savedMs,
+                               long avgSavedMs) {
+}
@@ -0,0 +1,349 @@
+package com.efrei.abregefrr.summary;
+
+import com.efrei.abregefrr.metrics.PipelineMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+@Component
+public class Summarizer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Summarizer.class);
+
+    private final OllamaClient ollamaClient;
+    private final PipelineMetrics metrics;
+    private final ExecutorService compactor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("summary-compaction-", 0).factory());
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong trivialSkipped = new AtomicLong();
+    private Map<CacheKey, List<String>> cache;
+    private Set<String> fillerWords;
+    private AdaptiveModelPolicy modelPolicy;
+    private final Map<String, IntSupplier> queues = new ConcurrentHashMap<>();
+
+    @Value("${summary.cache.size:512}")
+    private int cacheSize;
+
+    @Value("${summary.min-words:3}")
+    private int minWords;
+
+    @Value("${summary.filler-words:oui,non,ouais,ok,okay,d'accord,euh,heu,hum,bah,ben,bon,alors,donc,voila,merci,bref,hein,quoi,enfin,genre}")
+    private String[] fillers;
+
+    @Value("${summary.context.budget-tokens:384}")
+    private int contextBudgetTokens;
+
+    @Value("${summary.context.recent:4}")
+    private int contextRecent;
+
+    @Value("${summary.kv-context.max-tokens:2048}")
+    private int kvMaxTokens;
+
+    @Value("${summary.speculation.enabled:true}")
+    private boolean speculationEnabled;
+
+    @Value("${summary.speculation.stable-ms:400}")
+    private long speculationStableMs;
+
+    @Value("${summary.models:}")
+    private String[] models;
+
+    @Value("${summary.adaptive.up-lag-ms:8000}")
+    private long adaptiveUpLagMs;
+
+    @Value("${summary.adaptive.down-lag-ms:3000}")
+    private long adaptiveDownLagMs;
+
+    @Value("${summary.adaptive.up-queue-depth:4}")
+    private int adaptiveUpQueueDepth;
+
+    @Value("${summary.adaptive.down-queue-depth:0}")
+    private int adaptiveDownQueueDepth;
+
+    @Value("${summary.adaptive.dwell-ms:20000}")
+    private long adaptiveDwellMs;
+
+    @Value("${summary.adaptive.calm-ms:60000}")
+    private long adaptiveCalmMs;
+
+    @Value("${summary.context.compaction-prompt:Condense ces résumés en un seul court paragraphe qui garde le fil et les informations clés, sans rien ajouter : %s}")
+    private String compactionPrompt;
+
+    public Summarizer(OllamaClient ollamaClient, PipelineMetrics metrics) {
+        this.ollamaClient = ollamaClient;
+        this.metrics = metrics;
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, List<String>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        Set<String> words = new HashSet<>();
+        for (String filler : fillers) {
+            words.add(TextNormalizer.normalize(filler));
+        }
+        fillerWords = Set.copyOf(words);
+        List<String> ladder = new ArrayList<>();
+        if (models != null) {
+            for (String model : models) {
+                if (!model.isBlank()) {
+                    ladder.add(model.trim());
+                }
+            }
+        }
+        if (ladder.isEmpty()) {
+            ladder.add(ollamaClient.model());
+        }
+        modelPolicy = new AdaptiveModelPolicy(ladder, adaptiveUpLagMs, adaptiveDownLagMs, adaptiveUpQueueDepth,
+                adaptiveDownQueueDepth, adaptiveDwellMs, adaptiveCalmMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compactor.shutdownNow();
+    }
+
+    public String activeModel() {
+        return modelPolicy.active();
+    }
+
+    // Every session shares the same Ollama, so the policy sees their summary queues added up.
+    public void trackQueue(String session, IntSupplier depth) {
+        queues.put(session, depth);
+    }
+
+    public void untrackQueue(String session) {
+        queues.remove(session);
+    }
+
+    // Fed after each live summary with the sentence's time from queueing to its last token.
+    public void recordLag(long lagNanos) {
+        long lagMs = TimeUnit.NANOSECONDS.toMillis(lagNanos);
+        int queueDepth = 0;
+        for (IntSupplier depth : queues.values()) {
+            queueDepth += depth.getAsInt();
+        }
+        String previous = modelPolicy.active();
+        String selected = modelPolicy.observe(lagMs, queueDepth, System.nanoTime());
+        if (selected != null) {
+            LOGGER.info("Modèle de résumé : {} -> {} (retard {} ms, file {})", previous, selected, lagMs, queueDepth);
+        }
+    }
+
+    public ModelPolicyStats modelStats() {
+        return modelPolicy.stats();
+    }
+
+    public SummaryContext newContext() {
+        return new SummaryContext(contextBudgetTokens, contextRecent);
+    }
+
+    public boolean isTrivial(String sentence) {
+        String[] words = TextNormalizer.normalize(sentence).split(" ");
+        boolean trivial = words.length < minWords;
+        if (!trivial) {
+            trivial = true;
+            for (String word : words) {
+                if (!fillerWords.contains(word)) {
+                    trivial = false;
+                    break;
+                }
+            }
+        }
+        if (trivial) {
+            trivialSkipped.incrementAndGet();
+        }
+        return trivial;
+    }
+
+    public SummaryTiming summarize(String text, Consumer<String> onToken) throws IOException, InterruptedException {
+        return summarize(text, null, onToken);
+    }
+
+    public SummaryTiming summarize(String text, SummaryContext context, Consumer<String> onToken)
+            throws IOException, InterruptedException {
+        return summarize(text, activeModel(), context, onToken);
+    }
+
+    public SummaryTiming summarize(String text, String model, SummaryContext context, Consumer<String> onToken)
+            throws IOException, InterruptedException {
+        CacheKey key = cacheKey(text, model);
+        List<String> cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        if (cached != null) {
+            hits.incrementAndGet();
+            cached.forEach(onToken);
+            if (context != null) {
+                // Ollama never saw this sentence: a follow-up on the KV context would skip it.
+                context.resetKvContext();
+            }
+            remember(context, cached);
+            return SummaryTiming.CACHED;
+        }
+        misses.incrementAndGet();
+        List<String> tokens = new ArrayList<>();
+        Consumer<String> collector = token -> {
+            tokens.add(token);
+            onToken.accept(token);
+        };
+        OllamaGeneration generation;
+        int[] kvContext = context == null || kvMaxTokens <= 0 ? null : context.kvContext(model);
+        if (context == null) {
+            generation = generate(model, ollamaClient.prompt(text, ""), null, collector);
+        } else {
+            try {
+                generation = kvContext != null
+                        ? generate(model, ollamaClient.followUpPrompt(text), kvContext, collector)
+                        : generate(model, ollamaClient.prompt(text, context.render()), null, collector);
+            } catch (IOException e) {
+                context.resetKvContext();
+                throw e;
+            }
+            context.recordGeneration(generation, kvMaxTokens, model);
+        }
+        if (!tokens.isEmpty()) {
+            synchronized (cache) {
+                cache.put(key, List.copyOf(tokens));
+            }
+            remember(context, tokens);
+        }
+        return new SummaryTiming(false, kvContext != null, false, generation.promptTokens(), generation.prefillMs(),
+                generation.generatedTokens(), generation.generationMs());
+    }
+
+    SummaryTiming speculate(String text, String model, SummaryContext context, Consumer<String> onToken)
+            throws IOException, InterruptedException {
+        List<String> cached;
+        synchronized (cache) {
+            cached = cache.get(cacheKey(text, model));
+        }
+        if (cached != null) {
+            cached.forEach(onToken);
+            return SummaryTiming.CACHED;
+        }
+        // Speculative runs stay off the KV context: a miss must leave no trace in the session.
+        OllamaGeneration generation = generate(model,
+                ollamaClient.prompt(text, context == null ? "" : context.render()), null, onToken);
+        return new SummaryTiming(false, false, true, generation.promptTokens(), generation.prefillMs(),
+                generation.generatedTokens(), generation.generationMs());
+    }
+
+    void commit(String text, String model, SummaryContext context, List<String> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        synchronized (cache) {
+            cache.put(cacheKey(text, model), List.copyOf(tokens));
+        }
+        if (context != null) {
+            // The speculation ran outside the KV context, which now misses this sentence.
+            context.resetKvContext();
+        }
+        remember(context, tokens);
+    }
+
+    public SummarySpeculator newSpeculator(SummaryContext context) {
+        return new SummarySpeculator(this, context, speculationEnabled, speculationStableMs, minWords);
+    }
+
+    private OllamaGeneration generate(String model, String prompt, int[] kvContext, Consumer<String> onToken)
+            throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        boolean success = false;
+        try {
+            OllamaGeneration generation = ollamaClient.generate(model, prompt, kvContext, onToken);
+            success = true;
+            return generation;
+        } catch (OllamaClient.ModelNotFoundException e) {
+            String fallback = modelPolicy.missing(model, System.nanoTime());
+            if (fallback != null) {
+                LOGGER.warn("Modèle {} absent d'Ollama, retour à {}", model, fallback);
+            }
+            throw e;
+        } finally {
+            metrics.recordOllama(System.nanoTime() - started, success);
+        }
+    }
+
+    private CacheKey cacheKey(String text, String model) {
+        return new CacheKey(TextNormalizer.normalize(text), model, ollamaClient.promptTemplate());
+    }
+
+    private void remember(SummaryContext context, List<String> tokens) {
+        if (context == null) {
+            return;
+        }
+        context.append(String.join("", tokens));
+        String material = context.takeForCompaction();
+        if (material == null) {
+            return;
+        }
+        try {
+            compactor.execute(() -> compact(context, material));
+        } catch (RejectedExecutionException e) {
+            context.abortCompaction();
+        }
+    }
+
+    private void compact(SummaryContext context, String material) {
+        StringBuilder meta = new StringBuilder();
+        try {
+            generate(activeModel(), String.format(compactionPrompt, material), null, meta::append);
+        } catch (IOException e) {
+            LOGGER.warn("Compaction du contexte impossible : {}", e.getMessage());
+            context.abortCompaction();
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            context.abortCompaction();
+            return;
+        }
+        String compacted = meta.toString().replace('\n', ' ').replace('\r', ' ').strip();
+        if (compacted.isEmpty()) {
+            context.abortCompaction();
+        } else {
+            context.completeCompaction(compacted);
+        }
+    }
+
+    public SummaryCacheStats stats() {
+        int size;
+        synchronized (cache) {
+            size = cache.size();
+        }
+        long hitCount = hits.get();
+        long lookups = hitCount + misses.get();
+        double hitRate = lookups == 0 ? 0.0 : (double) hitCount / lookups;
+        return new SummaryCacheStats(size, cacheSize, hitCount, misses.get(), trivialSkipped.get(), hitRate);
+    }
+
+    private record CacheKey(String normalizedText, String model, String prompt) {
+    }
+}
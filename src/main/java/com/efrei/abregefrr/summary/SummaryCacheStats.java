@@ -0,0 +1,4 @@
+package com.efrei.abregefrr.summary;
+
+public record SummaryCacheStats(int size, int capacity, long hits, long misses, long trivialSkipped, double hitRate) {
+}
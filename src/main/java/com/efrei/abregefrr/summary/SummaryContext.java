@@ -0,0 +1,170 @@
+package com.efrei.abregefrr.summary;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+public final class SummaryContext {
+
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final int budgetTokens;
+    private final int recentLimit;
+
+    private final Deque<String> recent = new ArrayDeque<>();
+    private List<String> compacting = List.of();
+    private String meta = "";
+    private boolean compactionInFlight;
+    private long compactions;
+    private long failedCompactions;
+
+    private int[] kvContext;
+    private String kvModel;
+    private long kvResets;
+    private long generations;
+    private long reusedGenerations;
+    private long prefillMs;
+    private long generationMs;
+
+    public SummaryContext(int budgetTokens, int recentLimit) {
+        if (budgetTokens <= 0 || recentLimit <= 0) {
+            throw new IllegalArgumentException("Budget et nombre de résumés récents doivent être positifs");
+        }
+        this.budgetTokens = budgetTokens;
+        this.recentLimit = recentLimit;
+    }
+
+    public static int estimateTokens(CharSequence text) {
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    public synchronized void append(String summary) {
+        String trimmed = summary.strip();
+        if (!trimmed.isEmpty()) {
+            recent.addLast(trimmed);
+        }
+        // Failed compactions must not let the history grow without bound.
+        while (recent.size() > recentLimit * 4) {
+            recent.pollFirst();
+        }
+    }
+
+    public synchronized String render() {
+        StringBuilder context = new StringBuilder();
+        appendPart(context, meta);
+        compacting.forEach(part -> appendPart(context, part));
+        recent.forEach(part -> appendPart(context, part));
+        int maxChars = budgetTokens * CHARS_PER_TOKEN;
+        if (context.length() <= maxChars) {
+            return context.toString();
+        }
+        // Only reached while a compaction is pending or has failed: keep the most recent part.
+        int cut = context.length() - maxChars;
+        int space = context.indexOf(" ", cut);
+        return context.substring(space < 0 || space - cut > 32 ? cut : space + 1);
+    }
+
+    synchronized String takeForCompaction() {
+        if (compactionInFlight || !needsCompaction()) {
+            return null;
+        }
+        int count = Math.max(1, recent.size() / 2);
+        List<String> oldest = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            oldest.add(recent.pollFirst());
+        }
+        compacting = List.copyOf(oldest);
+        compactionInFlight = true;
+        StringBuilder material = new StringBuilder();
+        appendPart(material, meta);
+        compacting.forEach(part -> appendPart(material, part));
+        return material.toString();
+    }
+
+    synchronized void completeCompaction(String newMeta) {
+        String trimmed = newMeta.strip();
+        int maxChars = budgetTokens * CHARS_PER_TOKEN / 2;
+        meta = trimmed.length() > maxChars ? trimmed.substring(trimmed.length() - maxChars) : trimmed;
+        compacting = List.of();
+        compactionInFlight = false;
+        compactions++;
+    }
+
+    synchronized void abortCompaction() {
+        for (int i = compacting.size() - 1; i >= 0; i--) {
+            recent.addFirst(compacting.get(i));
+        }
+        compacting = List.of();
+        compactionInFlight = false;
+        failedCompactions++;
+    }
+
+    // A KV context only means something to the model that produced it.
+    synchronized int[] kvContext(String model) {
+        return model.equals(kvModel) ? kvContext : null;
+    }
+
+    synchronized void recordGeneration(OllamaGeneration generation, int kvMaxTokens, String model) {
+        kvModel = model;
+        if (kvContext != null) {
+            reusedGenerations++;
+        }
+        generations++;
+        prefillMs += generation.prefillMs();
+        generationMs += generation.generationMs();
+        int[] next = generation.context();
+        if (kvMaxTokens <= 0 || next == null) {
+            kvContext = null;
+        } else if (next.length > kvMaxTokens) {
+            // Start over from the compacted text context rather than letting prefill creep up.
+            kvContext = null;
+            kvResets++;
+        } else {
+            kvContext = next;
+        }
+    }
+
+    synchronized void resetKvContext() {
+        if (kvContext != null) {
+            kvContext = null;
+            kvResets++;
+        }
+    }
+
+    public synchronized SummaryContextStats stats() {
+        int tokens = estimateTokens(meta);
+        for (String part : compacting) {
+            tokens += estimateTokens(part) + 1;
+        }
+        for (String part : recent) {
+            tokens += estimateTokens(part) + 1;
+        }
+        return new SummaryContextStats(recent.size(), estimateTokens(meta), Math.min(tokens, budgetTokens),
+                budgetTokens, compactions, failedCompactions,
+                kvContext == null ? 0 : kvContext.length, kvResets, generations, reusedGenerations,
+                generations == 0 ? 0 : prefillMs / generations,
+                generations == 0 ? 0 : generationMs / generations);
+    }
+
+    private boolean needsCompaction() {
+        if (recent.size() > recentLimit) {
+            return true;
+        }
+        int tokens = estimateTokens(meta);
+        for (String part : recent) {
+            tokens += estimateTokens(part) + 1;
+        }
+        return recent.size() > 1 && tokens > budgetTokens * 3 / 4;
+    }
+
+    private static void appendPart(StringBuilder context, String part) {
+        if (part.isEmpty()) {
+            return;
+        }
+        if (!context.isEmpty()) {
+            context.append(' ');
+        }
+        context.append(part);
+    }
+}
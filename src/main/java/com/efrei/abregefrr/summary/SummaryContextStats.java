@@ -0,0 +1,15 @@
+package com.efrei.abregefrr.summary;
+
+public record SummaryContextStats(int recentSummaries,
+                                  int metaTokens,
+                                  int promptContextTokens,
+                                  int budgetTokens,
+                                  long compactions,
+                                  long failedCompactions,
+                                  int kvContextTokens,
+                                  long kvResets,
+                                  long generations,
+                                  long reusedGenerations,
+                                  long avgPrefillMs,
+                                  long avgGenerationMs) {
+}
@@ -0,0 +1,7 @@
+package com.efrei.abregefrr.summary;
+
+public enum SummaryOverflowPolicy {
+    COALESCE,
+    DROP_OLDEST,
+    REJECT
+}
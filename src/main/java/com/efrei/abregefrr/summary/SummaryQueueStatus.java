@@ -0,0 +1,4 @@
+package com.efrei.abregefrr.summary;
+
+public record SummaryQueueStatus(int depth, int capacity, long oldestAgeMs, long coalesced, long dropped, long rejected) {
+}
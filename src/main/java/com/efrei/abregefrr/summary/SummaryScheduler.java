@@ -0,0 +1,174 @@
+package com.efrei.abregefrr.summary;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+public class SummaryScheduler implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SummaryScheduler.class);
+
+    private final int capacity;
+    private final SummaryOverflowPolicy policy;
+    private final int maxMergedWords;
+    private final ObjLongConsumer<String> handler;
+    private final Consumer<SummaryQueueStatus> statusListener;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Deque<PendingSummary> pending = new ArrayDeque<>();
+    private long coalesced;
+    private long dropped;
+    private long rejected;
+    private boolean closed;
+
+    private final Thread worker;
+
+    public SummaryScheduler(String threadName,
+                            int capacity,
+                            SummaryOverflowPolicy policy,
+                            int maxMergedWords,
+                            ObjLongConsumer<String> handler,
+                            Consumer<SummaryQueueStatus> statusListener) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be >= 1");
+        }
+        this.capacity = capacity;
+        this.policy = policy;
+        this.maxMergedWords = maxMergedWords;
+        this.handler = handler;
+        this.statusListener = statusListener;
+        this.worker = new Thread(this::drain, threadName);
+        this.worker.setDaemon(true);
+    }
+
+    public void start() {
+        worker.start();
+    }
+
+    public boolean submit(String sentence) {
+        SummaryQueueStatus status;
+        boolean accepted = true;
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            long now = System.nanoTime();
+            if (pending.size() < capacity) {
+                pending.addLast(new PendingSummary(sentence, now));
+            } else {
+                PendingSummary incoming = new PendingSummary(sentence, now);
+                // Past the merge cap a coalesced prompt would outgrow the context budget: drop the oldest instead.
+                SummaryOverflowPolicy effective = policy == SummaryOverflowPolicy.COALESCE
+                        && !fits(pending.peekLast(), incoming) ? SummaryOverflowPolicy.DROP_OLDEST : policy;
+                switch (effective) {
+                    case COALESCE -> {
+                        PendingSummary last = pending.pollLast();
+                        pending.addLast(last.merge(incoming));
+                        coalesced++;
+                    }
+                    case DROP_OLDEST -> {
+                        pending.pollFirst();
+                        pending.addLast(incoming);
+                        dropped++;
+                    }
+                    case REJECT -> {
+                        rejected++;
+                        accepted = false;
+                    }
+                }
+            }
+            notEmpty.signal();
+            status = statusLocked(now);
+        } finally {
+            lock.unlock();
+        }
+        statusListener.accept(status);
+        return accepted;
+    }
+
+    public SummaryQueueStatus status() {
+        lock.lock();
+        try {
+            return statusLocked(System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            pending.clear();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        worker.interrupt();
+    }
+
+    private void drain() {
+        while (true) {
+            PendingSummary next;
+            SummaryQueueStatus status;
+            lock.lock();
+            try {
+                while (pending.isEmpty() && !closed) {
+                    notEmpty.await();
+                }
+                if (closed) {
+                    return;
+                }
+                next = pending.pollFirst();
+                if (policy == SummaryOverflowPolicy.COALESCE) {
+                    while (!pending.isEmpty() && fits(next, pending.peekFirst())) {
+                        next = next.merge(pending.pollFirst());
+                        coalesced++;
+                    }
+                }
+                status = statusLocked(System.nanoTime());
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            statusListener.accept(status);
+            try {
+                handler.accept(next.text(), next.enqueuedAtNanos());
+            } catch (RuntimeException e) {
+                LOGGER.error("Résumé abandonné après une erreur inattendue", e);
+            }
+        }
+    }
+
+    private boolean fits(PendingSummary first, PendingSummary second) {
+        return first.words() + second.words() <= maxMergedWords;
+    }
+
+    private SummaryQueueStatus statusLocked(long now) {
+        PendingSummary oldest = pending.peekFirst();
+        long oldestAgeMs = oldest == null ? 0 : TimeUnit.NANOSECONDS.toMillis(now - oldest.enqueuedAtNanos());
+        return new SummaryQueueStatus(pending.size(), capacity, oldestAgeMs, coalesced, dropped, rejected);
+    }
+
+    private record PendingSummary(String text, int words, long enqueuedAtNanos) {
+
+        PendingSummary(String text, long enqueuedAtNanos) {
+            this(text, text.isBlank() ? 0 : text.strip().split("\\s+").length, enqueuedAtNanos);
+        }
+
+        PendingSummary merge(PendingSummary next) {
+            return new PendingSummary(text + " " + next.text(), words + next.words(), enqueuedAtNanos);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.efrei.abregefrr.summary;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+public final class SummarySpeculator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SummarySpeculator.class);
+
+    private final Summarizer summarizer;
+    private final SummaryContext context;
+    private final boolean enabled;
+    private final long stableNanos;
+    private final int minWords;
+
+    private String lastPartial = "";
+    private long lastChangeNanos;
+    private Speculation current;
+
+    private long started;
+    private long hits;
+    private long misses;
+    private long discarded;
+    private long savedMs;
+
+    SummarySpeculator(Summarizer summarizer,
+                      SummaryContext context,
+                      boolean enabled,
+                      long stableMs,
+                      int minWords) {
+        this.summarizer = summarizer;
+        this.context = context;
+        this.enabled = enabled;
+        this.stableNanos = TimeUnit.MILLISECONDS.toNanos(stableMs);
+        this.minWords = minWords;
+    }
+
+    public synchronized void onPartial(String partial, boolean mayStart) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        String normalized = TextNormalizer.normalize(partial);
+        // Any extra word can be a date or a negation: a speculation is only good for the exact text it summarised.
+        if (current != null && !current.resolved && !current.normalized.equals(normalized)) {
+            cancelCurrent();
+            misses++;
+        }
+        if (!normalized.equals(lastPartial)) {
+            lastPartial = normalized;
+            lastChangeNanos = now;
+            return;
+        }
+        if (!mayStart || current != null || now - lastChangeNanos < stableNanos
+                || normalized.split(" ").length < minWords) {
+            return;
+        }
+        current = new Speculation(partial, normalized, summarizer.activeModel(), now);
+        started++;
+        Thread.ofVirtual().name("summary-speculation").start(current::run);
+    }
+
+    public synchronized boolean resolve(String sentence) {
+        lastPartial = "";
+        Speculation speculation = current;
+        if (speculation == null || speculation.resolved) {
+            return false;
+        }
+        if (!speculation.normalized.equals(TextNormalizer.normalize(sentence))) {
+            cancelCurrent();
+            misses++;
+            return false;
+        }
+        speculation.resolve(sentence);
+        return true;
+    }
+
+    public synchronized Speculation take(String sentence) {
+        Speculation speculation = current;
+        if (speculation == null || !speculation.resolved) {
+            return null;
+        }
+        current = null;
+        if (speculation.failed()) {
+            discarded++;
+            return null;
+        }
+        if (!speculation.sentence.equals(sentence)) {
+            // The queue merged the sentence with others: the speculated summary no longer fits.
+            speculation.cancel();
+            discarded++;
+            return null;
+        }
+        // Counted once actually reused: a resolved sentence can still be refused by the summary queue.
+        hits++;
+        savedMs += speculation.headStartMs();
+        return speculation;
+    }
+
+    public synchronized void cancel() {
+        lastPartial = "";
+        if (current != null) {
+            cancelCurrent();
+            discarded++;
+        }
+    }
+
+    public synchronized SpeculationStats stats() {
+        long resolved = hits + misses;
+        return new SpeculationStats(enabled, started, hits, misses, discarded,
+                resolved == 0 ? 0.0 : (double) hits / resolved, savedMs, hits == 0 ? 0 : savedMs / hits);
+    }
+
+    private void cancelCurrent() {
+        current.cancel();
+        current = null;
+    }
+
+    public final class Speculation {
+
+        private final String text;
+        private final String normalized;
+        private final String model;
+        private final long startedNanos;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final List<String> tokens = new ArrayList<>();
+        private Thread runner;
+        private SummaryTiming timing;
+        private IOException failure;
+        private boolean finished;
+        private long finishedNanos;
+        private volatile boolean cancelled;
+
+        private String sentence;
+        private boolean resolved;
+        private long resolvedNanos;
+
+        private Speculation(String text, String normalized, String model, long startedNanos) {
+            this.text = text;
+            this.normalized = normalized;
+            this.model = model;
+            this.startedNanos = startedNanos;
+        }
+
+        public String model() {
+            return model;
+        }
+
+        public SummaryTiming drain(Consumer<String> onToken) throws IOException, InterruptedException {
+            int next = 0;
+            while (true) {
+                String token;
+                lock.lock();
+                try {
+                    while (next == tokens.size() && !finished) {
+                        changed.await();
+                    }
+                    if (next == tokens.size()) {
+                        if (failure != null) {
+                            throw failure;
+                        }
+                        break;
+                    }
+                    token = tokens.get(next++);
+                } finally {
+                    lock.unlock();
+                }
+                onToken.accept(token);
+            }
+            summarizer.commit(sentence, model, context, tokens);
+            return timing;
+        }
+
+        private void run() {
+            lock.lock();
+            try {
+                runner = Thread.currentThread();
+            } finally {
+                lock.unlock();
+            }
+            SummaryTiming result = null;
+            IOException error = null;
+            try {
+                result = summarizer.speculate(text, model, context, this::accept);
+            } catch (IOException e) {
+                if (!cancelled) {
+                    LOGGER.debug("Résumé spéculatif en échec : {}", e.getMessage());
+                }
+                error = e;
+            } catch (InterruptedException | CancellationException e) {
+                error = new InterruptedIOException("Résumé spéculatif annulé");
+            }
+            lock.lock();
+            try {
+                timing = result;
+                failure = error;
+                finished = true;
+                finishedNanos = System.nanoTime();
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void accept(String token) {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            lock.lock();
+            try {
+                tokens.add(token);
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void resolve(String sentence) {
+            this.sentence = sentence;
+            this.resolved = true;
+            this.resolvedNanos = System.nanoTime();
+        }
+
+        private boolean failed() {
+            lock.lock();
+            try {
+                return finished && failure != null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long headStartMs() {
+            lock.lock();
+            try {
+                long end = finished ? Math.min(finishedNanos, resolvedNanos) : resolvedNanos;
+                return TimeUnit.NANOSECONDS.toMillis(end - startedNanos);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            lock.lock();
+            try {
+                if (runner != null && !finished) {
+                    runner.interrupt();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.efrei.abregefrr.summary;
+
+public record SummaryTiming(boolean cached,
+                            boolean contextReused,
+                            boolean speculative,
+                            int promptTokens,
+                            long prefillMs,
+                            int generatedTokens,
+                            long generationMs) {
+
+    static final SummaryTiming CACHED = new SummaryTiming(true, false, false, 0, 0, 0, 0);
+}
@@ -0,0 +1,56 @@
+package com.efrei.abregefrr.audio;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class AudioFrameRingTest {
+
+    @Test
+    void reusesPooledFramesAndCountsOverruns() {
+        AudioFrameRing ring = new AudioFrameRing(2, 4);
+
+        byte[] first = ring.claim();
+        first[0] = 1;
+        ring.publish(4);
+        ring.claim()[0] = 2;
+        ring.publish(3);
+        assertNull(ring.claim());
+
+        int slot = ring.poll();
+        assertSame(first, ring.frame(slot));
+        assertEquals(4, ring.length(slot));
+        ring.release();
+
+        assertSame(first, ring.claim());
+        AudioRingStats stats = ring.stats();
+        assertEquals(1, stats.occupancy());
+        assertEquals(2, stats.highWater());
+        assertEquals(1, stats.overruns());
+    }
+
+    @Test
+    void countsOnlyUnderrunsReportedByTheConsumer() {
+        AudioFrameRing ring = new AudioFrameRing(3, 4);
+
+        assertEquals(-1, ring.poll());
+        assertEquals(4, ring.stats().capacity());
+        assertEquals(0, ring.stats().underruns());
+
+        ring.recordUnderrun();
+        assertEquals(1, ring.stats().underruns());
+    }
+
+    @Test
+    void awaitClaimTimesOutWithoutCountingOverrun() throws InterruptedException {
+        AudioFrameRing ring = new AudioFrameRing(1, 4);
+        ring.publish(ring.awaitClaim(1, TimeUnit.MILLISECONDS).length);
+
+        assertNull(ring.awaitClaim(1, TimeUnit.MILLISECONDS));
+        assertEquals(0, ring.stats().overruns());
+    }
+}
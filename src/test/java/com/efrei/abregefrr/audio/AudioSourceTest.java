@@ -0,0 +1,46 @@
+package com.efrei.abregefrr.audio;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AudioSourceTest {
+
+    private static final int SAMPLE_RATE = 16000;
+
+    @Test
+    void syntheticToneStopsAfterItsDurationAndIsDetectedAsSpeech() {
+        SyntheticSource tone = SyntheticSource.tone(SAMPLE_RATE, 220, 8000, 0.5);
+        tone.open();
+        byte[] frame = new byte[3200];
+        VoiceActivityDetector vad = new VoiceActivityDetector(SAMPLE_RATE, frame.length, 300, 0.5, 200);
+
+        int total = 0;
+        int read;
+        while ((read = tone.read(frame, 0, frame.length)) > 0) {
+            total += read;
+            assertTrue(vad.process(frame, read) != VoiceActivityDetector.Decision.SILENCE);
+        }
+
+        assertEquals(-1, read);
+        assertEquals(SAMPLE_RATE, total);
+    }
+
+    @Test
+    void pacedSourceFollowsTheRequestedSpeed() throws IOException {
+        AudioSource paced = new PacedAudioSource(SyntheticSource.noise(SAMPLE_RATE, 1000, 1.0), SAMPLE_RATE, 5.0);
+        paced.open();
+        byte[] frame = new byte[3200];
+
+        long started = System.nanoTime();
+        while (paced.read(frame, 0, frame.length) > 0) {
+        }
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(paced.realTime());
+        assertTrue(elapsedMs >= 190, "1 s d'audio à ×5 lu en " + elapsedMs + " ms");
+    }
+}
@@ -0,0 +1,39 @@
+package com.efrei.abregefrr.audio;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VoiceActivityDetectorTest {
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final int FRAME_BYTES = 3200;
+
+    @Test
+    void skipsSilenceAndEndsSpeechAfterHangover() {
+        VoiceActivityDetector vad = new VoiceActivityDetector(SAMPLE_RATE, FRAME_BYTES, 300, 0.5, 200);
+        byte[] silence = new byte[FRAME_BYTES];
+        byte[] voice = tone(220, 8000);
+
+        assertEquals(VoiceActivityDetector.Decision.SILENCE, vad.process(silence, silence.length));
+        assertEquals(VoiceActivityDetector.Decision.SPEECH_START, vad.process(voice, voice.length));
+        assertEquals(VoiceActivityDetector.Decision.SPEECH, vad.process(voice, voice.length));
+        assertEquals(VoiceActivityDetector.Decision.SPEECH, vad.process(silence, silence.length));
+        assertEquals(VoiceActivityDetector.Decision.SPEECH_END, vad.process(silence, silence.length));
+        assertEquals(VoiceActivityDetector.Decision.SILENCE, vad.process(silence, silence.length));
+
+        VadStats stats = vad.stats();
+        assertEquals(1, stats.speechSegments());
+        assertEquals(50.0, stats.skippedPercent(), 0.001);
+    }
+
+    private static byte[] tone(double frequency, double amplitude) {
+        byte[] pcm = new byte[FRAME_BYTES];
+        for (int i = 0; i < FRAME_BYTES / 2; i++) {
+            short sample = (short) (amplitude * Math.sin(2 * Math.PI * frequency * i / SAMPLE_RATE));
+            pcm[2 * i] = (byte) sample;
+            pcm[2 * i + 1] = (byte) (sample >> 8);
+        }
+        return pcm;
+    }
+}
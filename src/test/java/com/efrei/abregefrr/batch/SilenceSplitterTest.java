@@ -0,0 +1,57 @@
+package com.efrei.abregefrr.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SilenceSplitterTest {
+
+    private static final int SAMPLE_RATE = 1000;
+
+    @Test
+    void cutsInsideFirstSilenceAfterMinimumChunkLength() {
+        ByteBuffer pcm = pcm(new int[]{0, 3, 4}, 8);
+
+        List<AudioChunk> chunks = new SilenceSplitter(SAMPLE_RATE, 300, 2, 5).split(pcm);
+
+        assertEquals(2, chunks.size());
+        assertEquals(0, chunks.get(0).startSample());
+        assertEquals(chunks.get(0).endSample(), chunks.get(1).startSample());
+        assertEquals(8 * SAMPLE_RATE, chunks.get(1).endSample());
+        assertTrue(chunks.get(0).endSample() >= 3 * SAMPLE_RATE && chunks.get(0).endSample() < 4 * SAMPLE_RATE);
+    }
+
+    @Test
+    void readsWavHeaderAndFallsBackToRawPcm() throws IOException {
+        ByteBuffer wav = ByteBuffer.allocate(44 + 8).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put("RIFF".getBytes()).putInt(44).put("WAVE".getBytes())
+                .put("fmt ".getBytes()).putInt(16).putShort((short) 1).putShort((short) 1)
+                .putInt(8000).putInt(16000).putShort((short) 2).putShort((short) 16)
+                .put("data".getBytes()).putInt(8);
+        wav.flip();
+
+        assertEquals(new PcmFormat(8000, 44, 8), PcmFormat.detect(wav, 52, 16000));
+        assertEquals(new PcmFormat(16000, 0, 10), PcmFormat.detect(ByteBuffer.allocate(11), 11, 16000));
+    }
+
+    private static ByteBuffer pcm(int[] silentSeconds, int totalSeconds) {
+        ByteBuffer buffer = ByteBuffer.allocate(totalSeconds * SAMPLE_RATE * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (int second = 0; second < totalSeconds; second++) {
+            boolean silent = false;
+            for (int s : silentSeconds) {
+                silent |= s == second;
+            }
+            for (int i = 0; i < SAMPLE_RATE; i++) {
+                buffer.putShort((short) (silent ? 0 : (i % 2 == 0 ? 4000 : -4000)));
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,79 @@
+package com.efrei.abregefrr.journal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TranscriptLogTest {
+
+    @Test
+    void readsTimeRangesAcrossSegmentsAndRestarts() throws Exception {
+        Path directory = Files.createTempDirectory("transcripts");
+        TranscriptLog log = log(directory);
+        for (int i = 0; i < 40; i++) {
+            log.append("cours", i % 2 == 0 ? TranscriptLog.TRANSCRIPT : TranscriptLog.SUMMARY, "phrase numéro " + i);
+        }
+        log.shutdown();
+
+        TranscriptLog reopened = log(directory);
+        List<TranscriptEntry> all = reopened.read("cours", 0, Long.MAX_VALUE, 1000).orElseThrow();
+        assertEquals(40, all.size());
+        assertEquals("phrase numéro 39", all.get(39).text());
+        assertEquals(TranscriptLog.SUMMARY, all.get(1).type());
+
+        long from = all.get(10).timestamp();
+        long to = all.get(30).timestamp();
+        List<TranscriptEntry> range = reopened.read("cours", from, to, 1000).orElseThrow();
+        assertEquals(all.stream().filter(e -> e.timestamp() >= from && e.timestamp() <= to).toList(), range);
+        assertEquals(5, reopened.read("cours", 0, Long.MAX_VALUE, 5).orElseThrow().size());
+        assertEquals(true, reopened.read("inconnue", 0, Long.MAX_VALUE, 10).isEmpty());
+        reopened.shutdown();
+    }
+
+    @Test
+    void dropsATornRecordLeftByACrash() throws Exception {
+        Path directory = Files.createTempDirectory("transcripts");
+        TranscriptLog log = log(directory);
+        log.append("cours", TranscriptLog.TRANSCRIPT, "première phrase");
+        log.append("cours", TranscriptLog.TRANSCRIPT, "deuxième phrase");
+        log.shutdown();
+
+        Path segment;
+        try (Stream<Path> files = Files.list(directory.resolve("cours"))) {
+            segment = files.sorted().toList().getLast();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        TranscriptLog reopened = log(directory);
+        List<TranscriptEntry> entries = reopened.read("cours", 0, Long.MAX_VALUE, 10).orElseThrow();
+        assertEquals(1, entries.size());
+        reopened.append("cours", TranscriptLog.TRANSCRIPT, "après redémarrage");
+        reopened.shutdown();
+
+        TranscriptLog again = log(directory);
+        assertEquals("après redémarrage",
+                again.read("cours", 0, Long.MAX_VALUE, 10).orElseThrow().getLast().text());
+        again.shutdown();
+    }
+
+    private static TranscriptLog log(Path directory) {
+        TranscriptLog log = new TranscriptLog();
+        ReflectionTestUtils.setField(log, "enabled", true);
+        ReflectionTestUtils.setField(log, "directory", directory.toString());
+        ReflectionTestUtils.setField(log, "segmentBytes", 256L);
+        ReflectionTestUtils.setField(log, "indexIntervalBytes", 64);
+        ReflectionTestUtils.setField(log, "fsyncIntervalMs", 10L);
+        log.start();
+        return log;
+    }
+}
@@ -0,0 +1,36 @@
+package com.efrei.abregefrr.live;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventReplayBufferTest {
+
+    @Test
+    void replaysFinalEventsAfterLastSeenId() {
+        EventReplayBuffer buffer = new EventReplayBuffer(8);
+        buffer.append(new LiveEventPayload("transcript-final", "un", 1));
+        buffer.append(new LiveEventPayload("transcript-partial", "de", 2));
+        buffer.append(new LiveEventPayload("transcript-final", "deux", 3));
+        buffer.append(new LiveEventPayload("summary-start", "deux", 4));
+
+        List<LiveEventPayload> missed = buffer.missedSince(1);
+
+        assertEquals(List.of(3L, 4L), missed.stream().map(LiveEventPayload::id).toList());
+        assertTrue(buffer.missedSince(4).isEmpty());
+    }
+
+    @Test
+    void replaysOnlyWhatIsStillBufferedAfterWrapAround() {
+        EventReplayBuffer buffer = new EventReplayBuffer(3);
+        for (long id = 1; id <= 10; id++) {
+            buffer.append(new LiveEventPayload("transcript-final", "phrase " + id, id));
+        }
+
+        assertEquals(List.of(8L, 9L, 10L), buffer.missedSince(2).stream().map(LiveEventPayload::id).toList());
+        assertEquals(List.of(8L, 9L, 10L), buffer.missedSince(42).stream().map(LiveEventPayload::id).toList());
+    }
+}
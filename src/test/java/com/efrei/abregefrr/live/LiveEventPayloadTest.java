@@ -0,0 +1,30 @@
+package com.efrei.abregefrr.live;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LiveEventPayloadTest {
+
+    @Test
+    void partialDeltaRebuildsTextFromPreviousPartial() {
+        String previous = "le cours commence";
+        String next = "le cours commencera jeudi";
+
+        int keep = TranscriptionSession.commonPrefixLength(previous, next);
+        LiveEventPayload delta = LiveEventPayload.partialDelta(next, keep);
+
+        assertEquals(17, (int) delta.keep());
+        assertEquals("ra jeudi", delta.payload());
+        assertEquals(next, previous.substring(0, delta.keep()) + delta.payload());
+    }
+
+    @Test
+    void fullTextVersionCarriesWholePartial() {
+        LiveEventPayload full = LiveEventPayload.partialDelta("bonjour à tous", 9).withId(4).withFullText();
+
+        assertEquals(0, (int) full.keep());
+        assertEquals("bonjour à tous", full.payload());
+        assertEquals(4, full.id());
+    }
+}
@@ -0,0 +1,157 @@
+package com.efrei.abregefrr.live;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SseSubscriberTest {
+
+    @Test
+    void dropsQueuedPartialsBeforeGivingUpOnSlowConsumer() {
+        SseSubscriber subscriber = new SseSubscriber(new SseEmitter(0L), 3,
+                SlowConsumerPolicy.DROP_PARTIALS_THEN_DISCONNECT, s -> { });
+
+        assertTrue(subscriber.offer(new LiveEventPayload("transcript-partial", "bon")));
+        assertTrue(subscriber.offer(new LiveEventPayload("transcript-final", "bonjour")));
+        assertTrue(subscriber.offer(new LiveEventPayload("transcript-partial", "à")));
+        assertTrue(subscriber.offer(new LiveEventPayload("summary-start", "bonjour")));
+        assertEquals(2, subscriber.droppedPartials());
+
+        assertTrue(subscriber.offer(new LiveEventPayload("summary-token", "Salut")));
+        assertFalse(subscriber.offer(new LiveEventPayload("summary-end", "bonjour")));
+    }
+
+    @Test
+    void disconnectPolicyGivesUpAsSoonAsBufferIsFull() {
+        SseSubscriber subscriber = new SseSubscriber(new SseEmitter(0L), 1, SlowConsumerPolicy.DISCONNECT, s -> { });
+
+        assertTrue(subscriber.offer(new LiveEventPayload("transcript-partial", "bon")));
+        assertFalse(subscriber.offer(new LiveEventPayload("transcript-partial", "bonjour")));
+    }
+
+    @Test
+    void aSendStuckOnOneClientDoesNotHoldUpTheOthers() throws Exception {
+        LiveEventDispatcher dispatcher = new LiveEventDispatcher(2, SlowConsumerPolicy.DISCONNECT, 16);
+        BlockingEmitter stuck = new BlockingEmitter();
+        CountingEmitter healthy = new CountingEmitter();
+        dispatcher.start();
+        try {
+            dispatcher.subscribe(stuck, new LiveEventPayload("status", "listening"), null);
+            assertTrue(stuck.blocked.await(5, TimeUnit.SECONDS));
+            dispatcher.subscribe(healthy, new LiveEventPayload("status", "listening"), null);
+
+            // The third event overflows the stuck client: it gets disconnected, the others keep receiving.
+            for (int i = 1; i <= 6; i++) {
+                dispatcher.publish(new LiveEventPayload("transcript-final", "phrase " + i));
+                assertTrue(healthy.awaitSent(i + 1), "event " + i + " non reçu");
+            }
+            assertEquals(1, dispatcher.subscriberCount());
+
+            stuck.release.countDown();
+            assertTrue(stuck.completed.await(5, TimeUnit.SECONDS));
+        } finally {
+            stuck.release.countDown();
+            dispatcher.close();
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Like Spring's emitter, complete() waits for the lock a pending send holds.
+    private static final class BlockingEmitter extends SseEmitter {
+
+        private final ReentrantLock sendLock = new ReentrantLock();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        BlockingEmitter() {
+            super(0L);
+        }
+
+        @Override
+        public void send(Object object) throws IOException {
+            send(SseEmitter.event().data(object));
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            // A write on a half-dead socket does not answer interrupts.
+            sendLock.lock();
+            try {
+                blocked.countDown();
+                awaitUninterruptibly(release);
+            } finally {
+                sendLock.unlock();
+            }
+            throw new IOException("Connexion perdue");
+        }
+
+        @Override
+        public void complete() {
+            sendLock.lock();
+            try {
+                completed.countDown();
+            } finally {
+                sendLock.unlock();
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            complete();
+        }
+    }
+
+    private static final class CountingEmitter extends SseEmitter {
+
+        private final AtomicInteger sent = new AtomicInteger();
+
+        CountingEmitter() {
+            super(0L);
+        }
+
+        @Override
+        public void send(Object object) {
+            sent.incrementAndGet();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.incrementAndGet();
+        }
+
+        boolean awaitSent(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sent.get() < count) {
+                if (System.nanoTime() > deadline) {
+                    return false;
+                }
+                Thread.sleep(5);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.efrei.abregefrr.live;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class VoskResultParserTest {
+
+    @Test
+    void readsFinalTextWithWordTimings() {
+        VoskResultParser parser = new VoskResultParser();
+        String json = """
+                {
+                  "result" : [{
+                      "conf" : 1.000000,
+                      "end" : 1.110000,
+                      "start" : 0.840000,
+                      "word" : "l'algo"
+                    }, {
+                      "conf" : 0.652314,
+                      "end" : 1.5,
+                      "start" : 1.11,
+                      "word" : "{\\"ok\\"}"
+                    }],
+                  "text" : "l'algo {\\"ok\\"}"
+                }""";
+
+        assertEquals("l'algo {\"ok\"}", parser.text(json));
+        List<WordTiming> words = parser.words(10.0);
+        assertEquals(2, words.size());
+        assertEquals("l'algo", words.get(0).word());
+        assertEquals(10.84, words.get(0).start(), 1e-9);
+        assertEquals(11.11, words.get(0).end(), 1e-9);
+        assertEquals(0.652314, words.get(1).conf(), 1e-9);
+        assertEquals("{\"ok\"}", words.get(1).word());
+    }
+
+    @Test
+    void keepsNumbersExactlyAsVoskWroteThem() {
+        VoskResultParser parser = new VoskResultParser();
+        String json = """
+                {
+                  "result" : [{
+                      "conf" : 0.87,
+                      "end" : 2.73,
+                      "start" : 0.1,
+                      "word" : "jeudi"
+                    }, {
+                      "conf" : 1,
+                      "end" : 3.3e0,
+                      "start" : -0.03,
+                      "word" : "matin"
+                    }],
+                  "text" : "jeudi matin"
+                }""";
+
+        parser.text(json);
+        List<WordTiming> words = parser.words();
+        assertEquals(0.87, words.get(0).conf());
+        assertEquals(0.1, words.get(0).start());
+        assertEquals(2.73, words.get(0).end());
+        assertEquals(1.0, words.get(1).conf());
+        assertEquals(-0.03, words.get(1).start());
+        assertEquals(3.3, words.get(1).end());
+    }
+
+    @Test
+    void reusesUnchangedPartialAndIgnoresMissingWords() {
+        VoskResultParser parser = new VoskResultParser();
+
+        String first = parser.partial("{\n  \"partial\" : \"bonjour à tous\"\n}");
+        String second = parser.partial("{\n  \"partial\" : \"bonjour à tous\"\n}");
+        assertEquals("bonjour à tous", first);
+        assertSame(first, second);
+        assertEquals("", parser.partial("{\n  \"partial\" : \"\"\n}"));
+
+        assertEquals("bonjour", parser.text("{\n  \"text\" : \"bonjour\"\n}"));
+        assertNull(parser.words());
+    }
+}
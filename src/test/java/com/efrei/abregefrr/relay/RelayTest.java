@@ -0,0 +1,68 @@
+package com.efrei.abregefrr.relay;
+
+import com.efrei.abregefrr.live.LiveEventPayload;
+import com.efrei.abregefrr.live.WordTiming;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RelayTest {
+
+    @Test
+    void roundTripsEveryEventField() throws Exception {
+        List<LiveEventPayload> events = List.of(
+                new LiveEventPayload("transcript-partial", "jour", 7, null, 3, null, "bonjour"),
+                new LiveEventPayload("transcript-final", "bonjour à tous", 8,
+                        List.of(new WordTiming("bonjour", 0.1, 0.5, 1.0), new WordTiming("à", 0.5, 0.6, 0.9)),
+                        null, null, null),
+                new LiveEventPayload("summary-start", "bonjour à tous", 9, null, null, "qwen2.5:1.5b", null));
+        for (LiveEventPayload event : events) {
+            assertEquals(event, RelayProtocol.read(stream(RelayProtocol.event(event))));
+        }
+        LiveEventPayload heartbeat = RelayProtocol.read(stream(RelayProtocol.heartbeat(42)));
+        assertNull(heartbeat.type());
+        assertEquals(42, heartbeat.id());
+    }
+
+    @Test
+    void lateRelayCatchesUpFromTheBacklogThenFollows() throws Exception {
+        RelayServer server = new RelayServer(new InetSocketAddress("127.0.0.1", 0), 16, 16, 200);
+        BlockingQueue<LiveEventPayload> received = new LinkedBlockingQueue<>();
+        RelayClient client = null;
+        try {
+            server.start();
+            for (int id = 1; id <= 3; id++) {
+                server.publish(new LiveEventPayload("transcript-final", "phrase " + id, id));
+            }
+            client = new RelayClient("127.0.0.1", server.port(), 200, 100, received::add);
+            client.start();
+            for (int id = 1; id <= 3; id++) {
+                assertEquals("phrase " + id, received.poll(5, TimeUnit.SECONDS).payload());
+            }
+            server.publish(new LiveEventPayload("summary-start", "phrase 3", 4, null, null, "gemma3:4b", null));
+            LiveEventPayload live = received.poll(5, TimeUnit.SECONDS);
+            assertEquals(4, live.id());
+            assertEquals("gemma3:4b", live.model());
+            assertEquals(0, client.gaps());
+            assertEquals(1, server.peers());
+        } finally {
+            if (client != null) {
+                client.close();
+            }
+            server.close();
+        }
+    }
+
+    private static DataInputStream stream(byte[] frame) {
+        return new DataInputStream(new ByteArrayInputStream(frame));
+    }
+}
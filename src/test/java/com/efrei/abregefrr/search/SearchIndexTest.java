@@ -0,0 +1,69 @@
+package com.efrei.abregefrr.search;
+
+import com.efrei.abregefrr.journal.TranscriptLog;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchIndexTest {
+
+    @Test
+    void foldsAccentsDropsStopWordsAndStems() {
+        assertEquals(List.of("algorithm", "reseau", "neuronal"), FrenchAnalyzer.terms("L'algorithme des Réseaux neuronaux"));
+        assertEquals(FrenchAnalyzer.terms("le cheval"), FrenchAnalyzer.terms("les chevaux"));
+        assertEquals(FrenchAnalyzer.terms("étudiante"), FrenchAnalyzer.terms("ÉTUDIANTES"));
+    }
+
+    @Test
+    void restoresItsSnapshotAndCatchesUpFromTheLog() throws Exception {
+        Path directory = Files.createTempDirectory("transcripts");
+        Path snapshot = directory.resolve("index.bin");
+        TranscriptLog log = log(directory);
+        SearchIndex index = index(log, snapshot);
+        log.append("cours", TranscriptLog.TRANSCRIPT, "Le réseau de neurones ajuste ses poids");
+        log.append("cours", TranscriptLog.SUMMARY, "Les réseaux neuronaux apprennent leurs poids");
+        log.shutdown();
+        assertEquals(2, index.search("réseaux", null, 10).size());
+        assertEquals(TranscriptLog.SUMMARY, index.search("neuronaux", "cours", 10).getFirst().type());
+        index.shutdown();
+
+        TranscriptLog offline = log(directory);
+        offline.append("td", TranscriptLog.TRANSCRIPT, "Les chevaux galopent dans le pré");
+        offline.shutdown();
+
+        TranscriptLog reopened = log(directory);
+        SearchIndex restored = index(reopened, snapshot);
+        assertEquals(3, restored.documents());
+        assertEquals(2, restored.search("réseau poids", null, 10).size());
+        assertEquals("td", restored.search("cheval", null, 10).getFirst().session());
+        assertEquals(0, restored.search("réseau cheval", null, 10).size());
+        assertEquals(0, restored.search("réseau", "td", 10).size());
+        reopened.shutdown();
+        restored.shutdown();
+    }
+
+    private static TranscriptLog log(Path directory) {
+        TranscriptLog log = new TranscriptLog();
+        ReflectionTestUtils.setField(log, "enabled", true);
+        ReflectionTestUtils.setField(log, "directory", directory.toString());
+        ReflectionTestUtils.setField(log, "segmentBytes", 4096L);
+        ReflectionTestUtils.setField(log, "indexIntervalBytes", 256);
+        ReflectionTestUtils.setField(log, "fsyncIntervalMs", 10L);
+        log.start();
+        return log;
+    }
+
+    private static SearchIndex index(TranscriptLog log, Path snapshot) {
+        SearchIndex index = new SearchIndex(log);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "snapshotPath", snapshot.toString());
+        ReflectionTestUtils.setField(index, "snapshotIntervalSeconds", 0L);
+        index.start();
+        return index;
+    }
+}
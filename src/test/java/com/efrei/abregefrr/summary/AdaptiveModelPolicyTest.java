@@ -0,0 +1,61 @@
+package com.efrei.abregefrr.summary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AdaptiveModelPolicyTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void stepsDownUnderLoadAndBackOnlyAfterACalmPeriod() {
+        AdaptiveModelPolicy policy = new AdaptiveModelPolicy(List.of("gemma3:4b", "qwen2.5:1.5b"),
+                5_000, 2_000, 4, 0, 10_000, 30_000);
+        long now = 0;
+
+        assertNull(policy.observe(1_500, 0, now));
+        assertEquals("qwen2.5:1.5b", policy.observe(1_500, 5, now += SECOND));
+
+        // Within the dwell time nothing moves, however calm it looks.
+        assertNull(policy.observe(500, 0, now += SECOND));
+        assertEquals("qwen2.5:1.5b", policy.active());
+
+        // Between the two thresholds: no switch in either direction.
+        assertNull(policy.observe(3_000, 1, now += 20 * SECOND));
+        assertNull(policy.observe(1_000, 0, now += SECOND));
+        assertNull(policy.observe(1_000, 0, now += 20 * SECOND));
+        assertEquals("gemma3:4b", policy.observe(1_000, 0, now += 15 * SECOND));
+
+        ModelPolicyStats stats = policy.stats();
+        assertEquals(1, stats.downgrades());
+        assertEquals(1, stats.upgrades());
+    }
+
+    @Test
+    void staysOnTheCheapestModelWhileOverloaded() {
+        AdaptiveModelPolicy policy = new AdaptiveModelPolicy(List.of("a", "b", "c"), 5_000, 2_000, 4, 0, 0, 0);
+
+        assertEquals("b", policy.observe(9_000, 0, 0));
+        assertEquals("c", policy.observe(9_000, 0, SECOND));
+        assertNull(policy.observe(9_000, 6, 2 * SECOND));
+        assertEquals("c", policy.active());
+    }
+
+    @Test
+    void climbsBackAboveAModelOllamaDoesNotHave() {
+        AdaptiveModelPolicy policy = new AdaptiveModelPolicy(List.of("a", "b", "c"), 5_000, 2_000, 4, 0, 0, 0);
+
+        assertEquals("b", policy.observe(9_000, 0, 0));
+        assertEquals("a", policy.missing("b", SECOND));
+        assertNull(policy.missing("c", 2 * SECOND));
+
+        // Still overloaded, but nothing below "a" is left to try.
+        assertNull(policy.observe(9_000, 6, 3 * SECOND));
+        assertEquals("a", policy.active());
+    }
+}
@@ -0,0 +1,156 @@
+package com.efrei.abregefrr.summary;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OllamaClientTest {
+
+    private final List<HttpServer> servers = new ArrayList<>();
+
+    @Test
+    void failsOverAndStopsPreferringAFailingBackend() throws Exception {
+        String broken = stub(0, null);
+        String healthy = stub(0, "ok");
+        OllamaClient client = client(0, broken, healthy);
+        try {
+            for (int i = 0; i < 3; i++) {
+                List<String> tokens = new ArrayList<>();
+                client.generate("phrase", tokens::add);
+                assertEquals(List.of(" ok"), tokens);
+            }
+
+            List<OllamaBackendStats> stats = client.backends();
+            assertEquals(1, stats.get(0).failures());
+            assertEquals(1, stats.get(0).requests());
+            assertEquals(3, stats.get(1).requests());
+        } finally {
+            stop(client);
+        }
+    }
+
+    @Test
+    void opensTheCircuitOfABackendThatKeepsFailing() throws Exception {
+        OllamaClient client = client(0, stub(0, null));
+        try {
+            for (int i = 0; i < 2; i++) {
+                assertThrows(IOException.class, () -> client.generate("phrase", token -> { }));
+            }
+
+            assertEquals("open", client.backends().get(0).circuit());
+            assertThrows(IOException.class, () -> client.generate("phrase", token -> { }));
+            assertEquals(2, client.backends().get(0).requests());
+        } finally {
+            stop(client);
+        }
+    }
+
+    @Test
+    void hedgesToASecondBackendWhenTheFirstIsSlow() throws Exception {
+        String slow = stub(3000, "lent");
+        String fast = stub(0, "rapide");
+        OllamaClient client = client(100, slow, fast);
+        try {
+            long started = System.nanoTime();
+            List<String> tokens = new ArrayList<>();
+            client.generate("phrase", tokens::add);
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+            assertEquals(List.of(" rapide"), tokens);
+            assertTrue(elapsedMs < 2000, "réponse en " + elapsedMs + " ms");
+            assertEquals(1, client.backends().get(1).hedges());
+        } finally {
+            stop(client);
+        }
+    }
+
+    @Test
+    void failsWhenTheStreamStallsAfterTheFirstToken() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/generate", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write("{\"response\":\" début\",\"done\":false}\n".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                Thread.sleep(10000);
+            } catch (InterruptedException | IOException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        servers.add(server);
+        OllamaClient client = client(0, "http://127.0.0.1:" + server.getAddress().getPort() + "/api/generate");
+        ReflectionTestUtils.setField(client, "idleTimeoutMs", 300L);
+        try {
+            long started = System.nanoTime();
+            List<String> tokens = new ArrayList<>();
+            assertThrows(IOException.class, () -> client.generate("phrase", tokens::add));
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+            assertEquals(List.of(" début"), tokens);
+            assertTrue(elapsedMs < 5000, "échec en " + elapsedMs + " ms");
+            assertEquals(1, client.backends().get(0).failures());
+        } finally {
+            stop(client);
+        }
+    }
+
+    private void stop(OllamaClient client) {
+        client.shutdown();
+        servers.forEach(server -> server.stop(0));
+    }
+
+    private OllamaClient client(long hedgeAfterMs, String... urls) {
+        OllamaClient ollama = new OllamaClient();
+        ReflectionTestUtils.setField(ollama, "ollamaUrls", urls);
+        ReflectionTestUtils.setField(ollama, "ollamaModel", "test");
+        ReflectionTestUtils.setField(ollama, "ollamaKeepAlive", "1m");
+        ReflectionTestUtils.setField(ollama, "connectTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(ollama, "firstByteTimeoutMs", 10000L);
+        ReflectionTestUtils.setField(ollama, "idleTimeoutMs", 10000L);
+        ReflectionTestUtils.setField(ollama, "hedgeAfterMs", hedgeAfterMs);
+        ReflectionTestUtils.setField(ollama, "circuitFailureThreshold", 2);
+        ReflectionTestUtils.setField(ollama, "circuitOpenMs", 60000L);
+        ollama.init();
+        return ollama;
+    }
+
+    // token == null answers HTTP 500, otherwise streams one token after delayMs.
+    private String stub(long delayMs, String token) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/generate", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            if (token == null) {
+                exchange.sendResponseHeaders(500, -1);
+                exchange.close();
+                return;
+            }
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                Thread.sleep(delayMs);
+                out.write(("{\"response\":\" " + token + "\",\"done\":false}\n"
+                        + "{\"response\":\"\",\"done\":true,\"eval_count\":1}\n").getBytes(StandardCharsets.UTF_8));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        servers.add(server);
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/generate";
+    }
+}
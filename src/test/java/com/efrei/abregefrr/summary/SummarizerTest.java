@@ -0,0 +1,126 @@
+package com.efrei.abregefrr.summary;
+
+import com.efrei.abregefrr.metrics.PipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SummarizerTest {
+
+    @Test
+    void replaysCachedTokensForEquivalentSentences() throws Exception {
+        CountingClient client = new CountingClient();
+        Summarizer summarizer = summarizer(client);
+
+        List<String> first = new ArrayList<>();
+        summarizer.summarize("La séance commence  à dix heures", first::add);
+        List<String> second = new ArrayList<>();
+        summarizer.summarize("la seance commence à DIX heures", second::add);
+
+        assertEquals(1, client.calls);
+        assertEquals(first, second);
+        assertEquals(0.5, summarizer.stats().hitRate(), 0.0001);
+    }
+
+    @Test
+    void feedsKvContextBackUntilItGrowsTooLarge() throws Exception {
+        CountingClient client = new CountingClient();
+        Summarizer summarizer = summarizer(client);
+        SummaryContext context = new SummaryContext(64, 4);
+
+        assertFalse(summarizer.summarize("le cours porte sur les graphes", context, token -> {
+        }).contextReused());
+        assertEquals(3, context.stats().kvContextTokens());
+        SummaryTiming second = summarizer.summarize("on passe ensuite aux arbres couvrants", context, token -> {
+        });
+        assertTrue(second.contextReused());
+        assertEquals(40, second.prefillMs());
+
+        ReflectionTestUtils.setField(summarizer, "kvMaxTokens", 2);
+        summarizer.summarize("exercice sur l'algorithme de Prim", context, token -> {
+        });
+        assertEquals(0, context.stats().kvContextTokens());
+        assertEquals(1, context.stats().kvResets());
+    }
+
+    @Test
+    void dropsKvContextWhenACachedSummaryIsReplayed() throws Exception {
+        CountingClient client = new CountingClient();
+        Summarizer summarizer = summarizer(client);
+        summarizer.summarize("le cours porte sur les graphes", token -> {
+        });
+        SummaryContext context = new SummaryContext(64, 4);
+        summarizer.summarize("on passe ensuite aux arbres couvrants", context, token -> {
+        });
+        assertEquals(3, context.stats().kvContextTokens());
+
+        assertEquals(SummaryTiming.CACHED, summarizer.summarize("le cours porte sur les graphes", context, token -> {
+        }));
+        assertEquals(0, context.stats().kvContextTokens());
+        assertFalse(summarizer.summarize("exercice sur l'algorithme de Prim", context, token -> {
+        }).contextReused());
+    }
+
+    @Test
+    void treatsFillerUtterancesAsTrivial() {
+        Summarizer summarizer = summarizer(new CountingClient());
+
+        assertTrue(summarizer.isTrivial("Oui d'accord euh"));
+        assertTrue(summarizer.isTrivial("voilà"));
+        assertFalse(summarizer.isTrivial("le partiel est reporté à jeudi"));
+        assertEquals(2, summarizer.stats().trivialSkipped());
+    }
+
+    private static Summarizer summarizer(OllamaClient client) {
+        Summarizer summarizer = new Summarizer(client, new PipelineMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(summarizer, "cacheSize", 8);
+        ReflectionTestUtils.setField(summarizer, "minWords", 3);
+        ReflectionTestUtils.setField(summarizer, "kvMaxTokens", 16);
+        ReflectionTestUtils.setField(summarizer, "contextBudgetTokens", 64);
+        ReflectionTestUtils.setField(summarizer, "contextRecent", 4);
+        ReflectionTestUtils.setField(summarizer, "fillers", new String[]{"oui", "d'accord", "euh", "voilà"});
+        summarizer.init();
+        return summarizer;
+    }
+
+    private static final class CountingClient extends OllamaClient {
+
+        private int calls;
+
+        @Override
+        public String model() {
+            return "test";
+        }
+
+        @Override
+        public String promptTemplate() {
+            return "%s";
+        }
+
+        @Override
+        public String prompt(String text, String context) {
+            return text;
+        }
+
+        @Override
+        public String followUpPrompt(String text) {
+            return text;
+        }
+
+        @Override
+        public OllamaGeneration generate(String model, String prompt, int[] context, Consumer<String> onToken) {
+            calls++;
+            onToken.accept("Début");
+            onToken.accept(" à 10h");
+            return new OllamaGeneration(new int[]{1, 2, 3}, 12, 40, 2, 10);
+        }
+    }
+}
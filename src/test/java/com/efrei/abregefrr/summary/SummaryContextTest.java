@@ -0,0 +1,43 @@
+package com.efrei.abregefrr.summary;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SummaryContextTest {
+
+    @Test
+    void compactsOldestSummariesIntoMetaSummary() {
+        SummaryContext context = new SummaryContext(200, 2);
+        context.append("Présentation du cours.");
+        context.append("Rappel sur les graphes.");
+        assertNull(context.takeForCompaction());
+
+        context.append("Exercice sur Dijkstra.");
+        String material = context.takeForCompaction();
+        assertNotNull(material);
+        assertTrue(material.startsWith("Présentation du cours."));
+        assertNull(context.takeForCompaction());
+
+        context.completeCompaction("Cours de graphes.");
+        assertEquals("Cours de graphes. Rappel sur les graphes. Exercice sur Dijkstra.", context.render());
+        assertEquals(1, context.stats().compactions());
+    }
+
+    @Test
+    void keepsPromptContextWithinBudgetWhenCompactionFails() {
+        SummaryContext context = new SummaryContext(16, 2);
+        for (int i = 0; i < 50; i++) {
+            context.append("Résumé numéro " + i + " de la séance.");
+            if (context.takeForCompaction() != null) {
+                context.abortCompaction();
+            }
+        }
+        String rendered = context.render();
+        assertTrue(SummaryContext.estimateTokens(rendered) <= 16);
+        assertTrue(rendered.endsWith("Résumé numéro 49 de la séance."));
+    }
+}
@@ -0,0 +1,82 @@
+package com.efrei.abregefrr.summary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SummarySchedulerTest {
+
+    @Test
+    void coalescesPendingSentencesIntoOnePrompt() throws InterruptedException {
+        List<String> prompts = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        try (SummaryScheduler scheduler = new SummaryScheduler("test-summary", 2, SummaryOverflowPolicy.COALESCE, 120,
+                (text, enqueuedAtNanos) -> {
+                    prompts.add(text);
+                    done.countDown();
+                }, status -> { })) {
+            scheduler.submit("un");
+            scheduler.submit("deux");
+            scheduler.submit("trois");
+            assertEquals(2, scheduler.status().depth());
+
+            scheduler.start();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of("un deux trois"), prompts);
+        }
+    }
+
+    @Test
+    void coalescingStopsAtTheWordCap() throws InterruptedException {
+        List<String> prompts = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+        try (SummaryScheduler scheduler = new SummaryScheduler("test-summary", 2, SummaryOverflowPolicy.COALESCE, 4,
+                (text, enqueuedAtNanos) -> {
+                    prompts.add(text);
+                    done.countDown();
+                }, status -> { })) {
+            scheduler.submit("un deux trois");
+            scheduler.submit("quatre cinq");
+            scheduler.submit("six");
+            scheduler.submit("sept huit");
+            SummaryQueueStatus status = scheduler.status();
+            assertEquals(1, status.coalesced());
+            assertEquals(1, status.dropped());
+
+            scheduler.start();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of("quatre cinq six", "sept huit"), prompts);
+        }
+    }
+
+    @Test
+    void dropOldestKeepsMostRecentSentences() {
+        try (SummaryScheduler scheduler = new SummaryScheduler("test-summary", 2, SummaryOverflowPolicy.DROP_OLDEST, 120,
+                (text, enqueuedAtNanos) -> { }, status -> { })) {
+            scheduler.submit("un");
+            scheduler.submit("deux");
+            assertTrue(scheduler.submit("trois"));
+
+            SummaryQueueStatus status = scheduler.status();
+            assertEquals(2, status.depth());
+            assertEquals(1, status.dropped());
+        }
+    }
+
+    @Test
+    void rejectRefusesSentencesWhenFull() {
+        try (SummaryScheduler scheduler = new SummaryScheduler("test-summary", 1, SummaryOverflowPolicy.REJECT, 120,
+                (text, enqueuedAtNanos) -> { }, status -> { })) {
+            assertTrue(scheduler.submit("un"));
+            assertFalse(scheduler.submit("deux"));
+            assertEquals(1, scheduler.status().rejected());
+        }
+    }
+}
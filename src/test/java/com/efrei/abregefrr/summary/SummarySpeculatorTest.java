@@ -0,0 +1,117 @@
+package com.efrei.abregefrr.summary;
+
+import com.efrei.abregefrr.metrics.PipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SummarySpeculatorTest {
+
+    @Test
+    void reusesSpeculatedSummaryWhenFinalMatchesStablePartial() throws Exception {
+        SummarySpeculator speculator = speculator();
+
+        speculator.onPartial("le partiel est reporté à jeudi", true);
+        speculator.onPartial("le partiel est reporté à jeudi", true);
+        assertTrue(speculator.resolve("Le partiel est reporté à jeudi"));
+
+        SummarySpeculator.Speculation speculation = speculator.take("Le partiel est reporté à jeudi");
+        assertNotNull(speculation);
+        List<String> tokens = new ArrayList<>();
+        assertTrue(speculation.drain(tokens::add).speculative());
+        assertEquals(List.of("Partiel", " jeudi"), tokens);
+        assertEquals(1.0, speculator.stats().hitRate(), 0.0001);
+    }
+
+    @Test
+    void cancellingARefusedSentenceCountsNoHitAndFreesTheSlot() {
+        SummarySpeculator speculator = speculator();
+
+        speculator.onPartial("le partiel est reporté à jeudi", true);
+        speculator.onPartial("le partiel est reporté à jeudi", true);
+        assertTrue(speculator.resolve("le partiel est reporté à jeudi"));
+        // The summary queue refused the sentence.
+        speculator.cancel();
+
+        SpeculationStats stats = speculator.stats();
+        assertEquals(0, stats.hits());
+        assertEquals(1, stats.discarded());
+        assertEquals(0, stats.savedMs());
+
+        speculator.onPartial("on passe aux arbres couvrants", true);
+        speculator.onPartial("on passe aux arbres couvrants", true);
+        assertEquals(2, speculator.stats().started());
+    }
+
+    @Test
+    void rejectsSpeculationWhenFinalAddsWords() {
+        SummarySpeculator speculator = speculator();
+
+        speculator.onPartial("on se voit jeudi", true);
+        speculator.onPartial("on se voit jeudi", true);
+        assertFalse(speculator.resolve("on se voit jeudi matin"));
+
+        assertNull(speculator.take("on se voit jeudi matin"));
+        assertEquals(1, speculator.stats().misses());
+    }
+
+    @Test
+    void cancelsSpeculationWhenFinalDiverges() {
+        SummarySpeculator speculator = speculator();
+
+        speculator.onPartial("le partiel est reporté", true);
+        speculator.onPartial("le partiel est reporté", true);
+        assertFalse(speculator.resolve("le projet est reporté à la semaine prochaine"));
+
+        assertNull(speculator.take("le projet est reporté à la semaine prochaine"));
+        assertEquals(1, speculator.stats().started());
+        assertEquals(1, speculator.stats().misses());
+    }
+
+    private static SummarySpeculator speculator() {
+        Summarizer summarizer = new Summarizer(new StubClient(), new PipelineMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(summarizer, "cacheSize", 8);
+        ReflectionTestUtils.setField(summarizer, "minWords", 3);
+        ReflectionTestUtils.setField(summarizer, "fillers", new String[]{"euh"});
+        ReflectionTestUtils.setField(summarizer, "contextBudgetTokens", 64);
+        ReflectionTestUtils.setField(summarizer, "contextRecent", 4);
+        ReflectionTestUtils.setField(summarizer, "speculationEnabled", true);
+        summarizer.init();
+        return summarizer.newSpeculator(summarizer.newContext());
+    }
+
+    private static final class StubClient extends OllamaClient {
+
+        @Override
+        public String model() {
+            return "test";
+        }
+
+        @Override
+        public String promptTemplate() {
+            return "%s";
+        }
+
+        @Override
+        public String prompt(String text, String context) {
+            return text;
+        }
+
+        @Override
+        public OllamaGeneration generate(String model, String prompt, int[] context, Consumer<String> onToken) {
+            onToken.accept("Partiel");
+            onToken.accept(" jeudi");
+            return new OllamaGeneration(null, 8, 30, 2, 10);
+        }
+    }
+}